@@ -0,0 +1,76 @@
+package org.example.logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A clock whose time is refreshed by a background daemon thread, so reading it is a
+ * plain volatile read and logging threads never call into the system clock.
+ * The trade-off is that timestamps are only accurate to the refresh interval.
+ */
+public final class CoarseClock implements LogClock {
+    private static final Object SHARED_LOCK = new Object();
+    private static CoarseClock shared;
+
+    private final long resolutionMillis;
+    private final Thread updater;
+    private volatile long now;
+    private volatile boolean running = true;
+
+    /**
+     * Creates and starts a coarse clock.
+     *
+     * @param resolutionMillis how often the time is refreshed, in milliseconds
+     */
+    public CoarseClock(long resolutionMillis) {
+        if (resolutionMillis <= 0) {
+            throw new IllegalArgumentException("resolutionMillis must be positive");
+        }
+        this.resolutionMillis = resolutionMillis;
+        this.now = System.currentTimeMillis();
+        this.updater = new Thread(this::run);
+        updater.setName("Logger-CoarseClock");
+        updater.setDaemon(true);
+        updater.start();
+    }
+
+    /**
+     * @return a process-wide coarse clock with millisecond resolution, started on first use
+     */
+    public static CoarseClock shared() {
+        synchronized (SHARED_LOCK) {
+            if (shared == null) {
+                shared = new CoarseClock(1);
+            }
+            return shared;
+        }
+    }
+
+    private void run() {
+        long sleepNanos = TimeUnit.MILLISECONDS.toNanos(resolutionMillis);
+        while (running) {
+            now = System.currentTimeMillis();
+            LockSupport.parkNanos(this, sleepNanos);
+        }
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return now;
+    }
+
+    /**
+     * @return the refresh interval in milliseconds
+     */
+    public long getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    /**
+     * Stops the background updater. The clock keeps returning the last time it saw.
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(updater);
+    }
+}
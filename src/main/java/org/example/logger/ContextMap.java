@@ -0,0 +1,181 @@
+package org.example.logger;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable MDC context. Changes return a new version that copies the few entries a
+ * context usually holds, so a snapshot is just a reference to the current version and can
+ * be handed to other threads as is. Lookups by name scan the keys in insertion order; values of
+ * keys registered as {@link MDCKey}s are also indexed by slot, so {@link #get(MDCKey)} is an
+ * array read.
+ */
+final class ContextMap extends AbstractMap<String, String> {
+    private static final String[] NO_VALUES = new String[0];
+    static final ContextMap EMPTY = new ContextMap(NO_VALUES, NO_VALUES);
+
+    private final String[] keys;
+    private final String[] values;
+    // Values of registered keys by slot, up to the highest slot present
+    private final String[] slotValues;
+    // Slots handed out when this version was built; keys registered later are looked up by name
+    private final int slotsKnown;
+
+    private ContextMap(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+        // Read the count first: every key with a lower slot is registered by then
+        int known = MDCKey.slotCount();
+        String[] bySlot = NO_VALUES;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = MDCKey.slotOf(keys[i]);
+            if (slot >= 0 && slot < known) {
+                if (slot >= bySlot.length) {
+                    bySlot = Arrays.copyOf(bySlot, slot + 1);
+                }
+                bySlot[slot] = values[i];
+            }
+        }
+        this.slotValues = bySlot;
+        this.slotsKnown = known;
+    }
+
+    static ContextMap copyOf(Map<String, String> map) {
+        if (map instanceof ContextMap) {
+            return (ContextMap) map;
+        }
+        if (map.isEmpty()) {
+            return EMPTY;
+        }
+        String[] keys = new String[map.size()];
+        String[] values = new String[keys.length];
+        int i = 0;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            if (entry.getKey() == null) {
+                throw new IllegalArgumentException("key cannot be null");
+            }
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+            i++;
+        }
+        return new ContextMap(keys, values);
+    }
+
+    private int indexOf(Object key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return a version with the key set to the value; this one if it already was
+     */
+    ContextMap with(String key, String value) {
+        int index = indexOf(key);
+        if (index >= 0) {
+            if (values[index] == null ? value == null : values[index].equals(value)) {
+                return this;
+            }
+            String[] newValues = values.clone();
+            newValues[index] = value;
+            return new ContextMap(keys, newValues);
+        }
+        int size = keys.length;
+        String[] newKeys = new String[size + 1];
+        String[] newValues = new String[size + 1];
+        System.arraycopy(keys, 0, newKeys, 0, size);
+        System.arraycopy(values, 0, newValues, 0, size);
+        newKeys[size] = key;
+        newValues[size] = value;
+        return new ContextMap(newKeys, newValues);
+    }
+
+    /**
+     * @return a version without the key; this one if it had none
+     */
+    ContextMap without(String key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return this;
+        }
+        if (keys.length == 1) {
+            return EMPTY;
+        }
+        String[] newKeys = new String[keys.length - 1];
+        String[] newValues = new String[keys.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+        System.arraycopy(values, index + 1, newValues, index, keys.length - index - 1);
+        return new ContextMap(newKeys, newValues);
+    }
+
+    String get(MDCKey key) {
+        int slot = key.slot;
+        if (slot >= 0 && slot < slotsKnown) {
+            return slot < slotValues.length ? slotValues[slot] : null;
+        }
+        return get(key.name());
+    }
+
+    @Override
+    public String get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (next >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, String> entry = new SimpleImmutableEntry<>(keys[next], values[next]);
+                        next++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.logger;
+
+import org.example.logger.sink.Syncable;
+
+/**
+ * When a logger forces its {@link Syncable} sinks to the storage device.
+ * {@link Logger#logDurable} syncs regardless of the mode.
+ */
+public enum DurabilityMode {
+    /**
+     * Only on {@link Logger#logDurable}; otherwise lines reach the OS page cache and the
+     * OS decides when they are written.
+     */
+    NONE,
+    /**
+     * At a fixed interval, from a background thread, whenever something was logged since
+     * the last sync. At most one interval of lines can be lost on power failure.
+     */
+    PERIODIC,
+    /**
+     * After every batch the async worker delivers, or after every call in sync mode.
+     * Calls that arrive while a sync is running share the next one.
+     */
+    GROUP_COMMIT,
+}
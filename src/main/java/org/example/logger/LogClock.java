@@ -0,0 +1,17 @@
+package org.example.logger;
+
+/**
+ * Source of the wall-clock time stamped on log messages.
+ */
+@FunctionalInterface
+public interface LogClock {
+    /**
+     * Clock backed directly by {@link System#currentTimeMillis()}.
+     */
+    LogClock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * @return the current time in milliseconds since the epoch
+     */
+    long currentTimeMillis();
+}
@@ -0,0 +1,657 @@
+package org.example.logger;
+
+import org.example.logger.async.AsyncOverflowPolicy;
+import org.example.logger.async.OverflowHandler;
+import org.example.logger.async.RingBuffer;
+import org.example.logger.format.MessageTemplate;
+import org.example.logger.format.ThrowableRenderer;
+import org.example.logger.format.ParameterFormatter;
+import org.example.logger.format.TimestampFormatter;
+import org.example.logger.sink.AbstractLogSink;
+import org.example.logger.sink.LogEventSink;
+import org.example.logger.sink.LogMessageSink;
+import org.example.logger.sink.QueuedSink;
+import org.example.logger.sink.Syncable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers events from a root logger and all of its child loggers to their shared sinks.
+ * Owns the layout, the async queue and its single worker thread, and one shutdown hook.
+ * Sinks are only ever called by one thread at a time: the worker in async mode, otherwise
+ * whichever caller holds the sink lock. Syncing {@link Syncable} sinks follows the
+ * {@link DurabilityMode}.
+ */
+final class LogDispatcher {
+    // Upper bound on how long an idle worker sleeps without being woken
+    private static final long WORKER_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    // How often the worker reports events dropped because the queue was full
+    private static final long DROP_SUMMARY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    // Upper bound on events the worker delivers before releasing their slots
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private final String name;
+    private final List<AbstractLogSink> sinks;
+    // Flushed under the sink lock, and QueuedSinks, which are flushed outside it
+    private final List<AbstractLogSink> lockedSinks;
+    private final List<AbstractLogSink> queuedSinks;
+    // Sinks the configuration created, closed once the final flush is done
+    private volatile List<Closeable> ownedSinks = List.of();
+    private final MessageSinkAdapter messageSinks;
+    private final LogEventSink[] eventSinks;
+    private final LogClock clock;
+    private final MessageTemplate messageTemplate;
+    private final SinkLevels sinkLevels;
+    // Held by whichever thread is writing to the sinks
+    private final Object sinkWriteLock = new Object();
+    private final Thread shutdownHook;
+    private final AtomicBoolean shutDown = new AtomicBoolean();
+    // Run as shutdown starts, while events can still be delivered
+    private volatile Runnable shutdownTask;
+
+    // Async logging support
+    private final boolean asyncMode;
+    private final RingBuffer<LogEvent> ringBuffer;
+    private final Thread workerThread;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    // Set by shutdown() when it stops waiting and by the worker as it exits; whichever comes
+    // second closes the owned sinks
+    private final AtomicBoolean workerExitHandshake = new AtomicBoolean();
+    // Set while the worker is parked, so producers only unpark it when needed
+    private volatile boolean workerParked;
+    // Set once the worker has exited; later flush requests are completed by the caller
+    private volatile boolean workerStopped;
+    // Flush barriers waiting for the worker to pass their sequence
+    private final Queue<FlushRequest> flushRequests = new ConcurrentLinkedQueue<>();
+    private final int bufferSize;
+    private final boolean deferParameterFormatting;
+    private final OverflowHandler overflow;
+    private long lastDropSummaryNanos = System.nanoTime();
+
+    // Durability
+    private final DurabilityMode durability;
+    private final Syncable[] syncables;
+    private final Thread syncThread;
+    private final long syncIntervalNanos;
+    // PERIODIC: set when something was delivered since the last sync
+    private volatile boolean unsynced;
+    // Group commit state, guarded by syncLock: syncs are numbered, and at most one runs at a time
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition syncFinished = syncLock.newCondition();
+    private boolean syncRunning;
+    private long syncsStarted;
+    private long syncsCompleted;
+    private long lastFailedSync;
+    private IOException lastSyncFailure;
+
+    LogDispatcher(String name, String timeFormat, String messageFormat,
+                  boolean asyncMode, int bufferSize, LogClock clock, boolean deferParameterFormatting,
+                  AsyncOverflowPolicy overflowPolicy, Level dropBelowLevel, DurabilityMode durability,
+                  long syncIntervalMillis, ThrowableRenderer throwableRenderer, List<AbstractLogSink> sinks) {
+        this.name = name;
+        this.sinks = List.copyOf(sinks);
+        this.lockedSinks = this.sinks.stream().filter(sink -> !(sink instanceof QueuedSink)).toList();
+        this.queuedSinks = this.sinks.stream().filter(QueuedSink.class::isInstance).toList();
+        this.sinkLevels = new SinkLevels(this.sinks);
+        this.clock = clock;
+        this.messageTemplate = MessageTemplate.compile(messageFormat, TimestampFormatter.ofPattern(timeFormat),
+                throwableRenderer);
+
+        // String-based sinks get the layout applied for them by the adapter, on the consuming thread
+        List<LogMessageSink> lineSinks = new ArrayList<>();
+        List<LogEventSink> structuredSinks = new ArrayList<>();
+        for (AbstractLogSink sink : sinks) {
+            if (sink instanceof LogEventSink) {
+                structuredSinks.add((LogEventSink) sink);
+            } else {
+                lineSinks.add((LogMessageSink) sink);
+            }
+        }
+        this.messageSinks = lineSinks.isEmpty() ? null : new MessageSinkAdapter(messageTemplate, lineSinks);
+        this.eventSinks = structuredSinks.toArray(new LogEventSink[0]);
+
+        this.asyncMode = asyncMode;
+        this.bufferSize = bufferSize;
+        this.deferParameterFormatting = deferParameterFormatting;
+        this.overflow = new OverflowHandler(overflowPolicy, dropBelowLevel);
+        this.durability = durability;
+        this.syncables = lockedSinks.stream().filter(Syncable.class::isInstance).map(Syncable.class::cast)
+                .toArray(Syncable[]::new);
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, syncIntervalMillis));
+        if (durability == DurabilityMode.PERIODIC) {
+            syncThread = new Thread(this::runPeriodicSync, "Logger-Sync-" + name);
+            syncThread.setDaemon(true);
+            syncThread.start();
+        } else {
+            syncThread = null;
+        }
+
+        if (asyncMode) {
+            // bufferSize bounds the queue; slots are preallocated and reused
+            this.ringBuffer = new RingBuffer<>(bufferSize, LogEvent::newReusableSlot);
+            this.workerThread = createAndStartWorkerThread();
+        } else {
+            this.ringBuffer = null;
+            this.workerThread = null;
+        }
+
+        // Drains and flushes whatever is left when the application exits
+        this.shutdownHook = new Thread(this::shutdown, "Logger-Shutdown-" + name);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    // Create and start the worker thread for async processing
+    private Thread createAndStartWorkerThread() {
+        Thread worker = new Thread(this::runWorker);
+        worker.setName("Logger-Worker-" + name);
+        worker.setDaemon(true);
+        worker.start();
+        return worker;
+    }
+
+    private void runWorker() {
+        try {
+            long next = ringBuffer.getConsumedSequence() + 1;
+            while (running.get()) {
+                if (ringBuffer.isPublished(next)) {
+                    next = processBatch(next);
+                    // Group commit: one sync per batch, shared by every durable request it covers
+                    completeFlushRequests(false, durability == DurabilityMode.GROUP_COMMIT);
+                    continue;
+                }
+                reportDroppedEvents(false);
+                completeFlushRequests(false, false);
+                workerParked = true;
+                // Re-check after announcing we're parked, a producer may have published in between
+                if (!ringBuffer.isPublished(next) && running.get()) {
+                    LockSupport.parkNanos(this, WORKER_IDLE_PARK_NANOS);
+                }
+                workerParked = false;
+            }
+            // Process remaining messages on shutdown, and flush them here: shutdown() stops
+            // waiting for a worker held up by a slow sink
+            drainQueue();
+            reportDroppedEvents(true);
+            finishSinks();
+        } finally {
+            // Whatever stopped us, don't leave flush() callers waiting
+            workerStopped = true;
+            completeFlushRequests(true, false);
+            if (workerExitHandshake.getAndSet(true)) {
+                // shutdown() has already returned
+                closeOwnedSinks();
+            }
+        }
+    }
+
+    // Delivers the run of published events starting at first, then releases all their
+    // slots at once. Returns the next sequence to wait for.
+    private long processBatch(long first) {
+        long end = first + 1;
+        while (end - first < MAX_BATCH_SIZE && ringBuffer.isPublished(end)) {
+            end++;
+        }
+        synchronized (sinkWriteLock) {
+            deliverBatch(first, end);
+        }
+        ringBuffer.release(end - 1);
+        if (syncThread != null) {
+            unsynced = true;
+        }
+        return end;
+    }
+
+    private void deliverBatch(long first, long end) {
+        for (long sequence = first; sequence < end; sequence++) {
+            LogEvent event = ringBuffer.get(sequence);
+            try {
+                if (overflow.takeOldestDropRequest()) {
+                    overflow.recordDrop(event.getLevel());
+                    continue;
+                }
+                // Message sinks get their lines at the end of the batch
+                if (messageSinks != null) {
+                    messageSinks.add(event);
+                }
+                sendEventToEventSinks(event);
+            } catch (RuntimeException e) {
+                System.err.println("Failed to deliver log message: " + e);
+            } finally {
+                event.clear();
+            }
+        }
+        if (messageSinks != null) {
+            messageSinks.endBatch();
+        }
+        endEventSinkBatch();
+    }
+
+    boolean isEnabled(Level level) {
+        return sinkLevels.isEnabled(level);
+    }
+
+    // Captures the call as an event; in async mode this is all the calling thread does.
+    // Returns false if the overflow policy discarded it.
+    boolean dispatch(Level messageLevel, String loggerName, String message, int argCount,
+                  Object arg1, Object arg2, Object[] args, Throwable throwable) {
+        long epochNanos = LogEvent.toEpochNanos(clock.currentTimeMillis());
+        String threadName = Thread.currentThread().getName();
+
+        if (!asyncMode) {
+            // Delivered before we return, so the event can read this thread's MDC directly
+            deliverOnCaller(new LogEvent().set(messageLevel, epochNanos, loggerName, threadName,
+                    message, argCount, arg1, arg2, args, throwable, null));
+            return true;
+        }
+
+        if (argCount > 0 && !deferParameterFormatting) {
+            // Arguments may be mutated once we return, so render them now
+            StringBuilder sb = new StringBuilder(message.length() + 32);
+            ParameterFormatter.formatTo(sb, message, argCount, arg1, arg2, args);
+            message = sb.toString();
+            argCount = 0;
+            arg1 = null;
+            arg2 = null;
+            args = null;
+        }
+        Map<String, String> contextMap = messageTemplate.usesMdc() || eventSinks.length > 0
+                ? MDC.getCopyOfContextMap() : Collections.emptyMap();
+
+        long sequence = overflow.claim(ringBuffer, messageLevel, running::get, workerThread);
+        if (sequence == OverflowHandler.DROPPED) {
+            return false;
+        }
+        if (sequence == OverflowHandler.DELIVER_ON_CALLER) {
+            // Overflow policy or a stopped worker: deliver on this thread
+            deliverOnCaller(new LogEvent().set(messageLevel, epochNanos, loggerName, threadName,
+                    message, argCount, arg1, arg2, args, throwable, contextMap));
+            return true;
+        }
+        ringBuffer.get(sequence).set(messageLevel, epochNanos, loggerName, threadName,
+                message, argCount, arg1, arg2, args, throwable, contextMap);
+        ringBuffer.publish(sequence);
+        if (workerParked) {
+            LockSupport.unpark(workerThread);
+        }
+        return true;
+    }
+
+    // Worker only: emits a summary of newly dropped events, at most once per interval unless forced
+    private void reportDroppedEvents(boolean force) {
+        long now = System.nanoTime();
+        if (!force && now - lastDropSummaryNanos < DROP_SUMMARY_INTERVAL_NANOS) {
+            return;
+        }
+        lastDropSummaryNanos = now;
+
+        String dropped = overflow.takeDropSummary();
+        if (dropped == null) {
+            return;
+        }
+        String summary = "Async queue full: " + dropped;
+        deliverOnCaller(new LogEvent().set(Level.WARN, LogEvent.toEpochNanos(clock.currentTimeMillis()),
+                name, Thread.currentThread().getName(), summary, 0, null, null, null, null,
+                Collections.emptyMap()));
+    }
+
+    long getDroppedCount(Level level) {
+        return overflow.getDroppedCount(level);
+    }
+
+    // Delivers whatever is still published once the worker has stopped
+    private void drainQueue() {
+        if (ringBuffer == null) return;
+
+        long next = ringBuffer.getConsumedSequence() + 1;
+        while (ringBuffer.isPublished(next)) {
+            next = processBatch(next);
+        }
+    }
+
+    private void deliverOnCaller(LogEvent event) {
+        synchronized (sinkWriteLock) {
+            if (messageSinks != null) {
+                messageSinks.consume(event);
+            }
+            sendEventToEventSinks(event);
+            endEventSinkBatch();
+        }
+        if (durability == DurabilityMode.GROUP_COMMIT) {
+            // Outside the sink lock, so callers arriving meanwhile can write and share the next sync
+            syncAllQuietly();
+        } else if (syncThread != null) {
+            unsynced = true;
+        }
+    }
+
+    private void sendEventToEventSinks(LogEvent event) {
+        for (LogEventSink sink : eventSinks) {
+            if (SinkLevels.accepts(sink, event.getLevel())) {
+                sink.consumeEvent(event);
+            }
+        }
+    }
+
+    private void endEventSinkBatch() {
+        for (LogEventSink sink : eventSinks) {
+            try {
+                sink.endOfBatch();
+            } catch (RuntimeException e) {
+                System.err.println("Failed to deliver log batch: " + e);
+            }
+        }
+    }
+
+    // Blocks until everything logged before the call is written and the sinks are flushed
+    void flush() {
+        try {
+            flushAsync().join();
+        } catch (CompletionException e) {
+            System.err.println("Failed to flush log sinks: " + e.getCause());
+        }
+    }
+
+    // In async mode the worker completes the future once it has delivered every event
+    // claimed before this call, so neither the caller nor the producers wait on a lock
+    CompletableFuture<Void> flushAsync() {
+        return requestFlush(false);
+    }
+
+    // Like flushAsync, but the future completes only once the Syncable sinks are synced.
+    // Requests the worker completes together share one sync.
+    CompletableFuture<Void> syncAsync() {
+        return requestFlush(true);
+    }
+
+    private CompletableFuture<Void> requestFlush(boolean sync) {
+        if (!asyncMode) {
+            try {
+                if (sync) {
+                    syncSinks();
+                } else {
+                    flushSinks();
+                }
+            } catch (IOException | RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return queuedSinksAsync(sync);
+        }
+        FlushRequest request = new FlushRequest(ringBuffer.getClaimedSequence(), sync);
+        flushRequests.add(request);
+        if (workerStopped) {
+            // The worker may have exited before seeing the request
+            completeFlushRequests(true, false);
+        } else {
+            LockSupport.unpark(workerThread);
+        }
+        return request.done;
+    }
+
+    // Flushes the sinks once for every request the worker has caught up with, or for all of them.
+    // Syncs instead if any of those requests asked for it, or if syncAnyway is set. The requests
+    // complete once the queued sinks have caught up too, without the worker waiting for them.
+    private void completeFlushRequests(boolean all, boolean syncAnyway) {
+        if (flushRequests.isEmpty()) {
+            if (syncAnyway) {
+                syncAllQuietly();
+            }
+            return;
+        }
+        long consumed = all ? Long.MAX_VALUE : ringBuffer.getConsumedSequence();
+        List<FlushRequest> ready = new ArrayList<>();
+        boolean sync = syncAnyway;
+        for (FlushRequest request : flushRequests) {
+            if (request.sequence <= consumed && flushRequests.remove(request)) {
+                ready.add(request);
+                sync |= request.sync;
+            }
+        }
+        if (ready.isEmpty()) {
+            if (syncAnyway) {
+                syncAllQuietly();
+            }
+            return;
+        }
+        CompletableFuture<Void> queued;
+        try {
+            if (sync) {
+                syncSinks();
+            } else {
+                flushSinks();
+            }
+            queued = queuedSinksAsync(sync);
+        } catch (IOException | RuntimeException e) {
+            queued = CompletableFuture.failedFuture(e);
+        }
+        for (FlushRequest request : ready) {
+            queued.whenComplete((ignored, e) -> {
+                if (e == null) {
+                    request.done.complete(null);
+                } else {
+                    request.done.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+                }
+            });
+        }
+    }
+
+    private void flushSinks() {
+        synchronized (sinkWriteLock) {
+            lockedSinks.forEach(AbstractLogSink::flush);
+        }
+    }
+
+    // Asks the queued sinks to flush or sync on their own consumer threads, which must not hold
+    // up the other sinks or the worker
+    private CompletableFuture<Void> queuedSinksAsync(boolean sync) {
+        if (queuedSinks.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<?>[] done = new CompletableFuture<?>[queuedSinks.size()];
+        for (int i = 0; i < done.length; i++) {
+            QueuedSink sink = (QueuedSink) queuedSinks.get(i);
+            done[i] = sync ? sink.syncAsync() : sink.flushAsync();
+        }
+        return CompletableFuture.allOf(done);
+    }
+
+    // Syncs the locked sinks here and starts the queued ones syncing on their own threads
+    private void syncAllQuietly() {
+        syncQuietly();
+        queuedSinksAsync(true).whenComplete((ignored, e) -> {
+            if (e != null) {
+                System.err.println("Failed to sync log sinks: " + (e instanceof CompletionException ? e.getCause() : e));
+            }
+        });
+    }
+
+    // Group commit: each caller needs a sync that starts after its own writes. While one is
+    // running, callers wait for the next, which the first of them runs on behalf of all.
+    private void syncSinks() throws IOException {
+        syncLock.lock();
+        try {
+            long needed = syncsStarted + 1;
+            while (syncsCompleted < needed) {
+                if (syncRunning) {
+                    syncFinished.awaitUninterruptibly();
+                    continue;
+                }
+                syncRunning = true;
+                long sync = ++syncsStarted;
+                IOException failure = null;
+                syncLock.unlock();
+                try {
+                    synchronized (sinkWriteLock) {
+                        lockedSinks.forEach(AbstractLogSink::flush);
+                        for (Syncable syncable : syncables) {
+                            syncable.sync();
+                        }
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                } catch (RuntimeException e) {
+                    failure = new IOException(e);
+                } finally {
+                    syncLock.lock();
+                    syncRunning = false;
+                    syncsCompleted = sync;
+                    if (failure != null) {
+                        lastFailedSync = sync;
+                        lastSyncFailure = failure;
+                    }
+                    syncFinished.signalAll();
+                }
+            }
+            // A later failure may hide whether ours succeeded; report it rather than claim durability
+            if (lastFailedSync >= needed) {
+                throw new IOException("Failed to sync log sinks", lastSyncFailure);
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            syncSinks();
+        } catch (IOException e) {
+            System.err.println("Failed to sync log sinks: " + e.getCause());
+        }
+    }
+
+    private void runPeriodicSync() {
+        while (!shutDown.get()) {
+            LockSupport.parkNanos(this, syncIntervalNanos);
+            if (unsynced && !shutDown.get()) {
+                unsynced = false;
+                syncAllQuietly();
+            }
+        }
+    }
+
+    // Stops the worker after it drains the queue, then flushes the sinks, syncing them unless the
+    // durability mode is NONE, and closes the sinks the configuration created. Later calls do nothing.
+    void shutdown() {
+        if (!shutDown.compareAndSet(false, true)) {
+            return;
+        }
+        Runnable task = shutdownTask;
+        if (task != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Failed to run logger shutdown task: " + e);
+            }
+        }
+        if (syncThread != null) {
+            LockSupport.unpark(syncThread);
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // The JVM is already exiting and will run the hook itself
+            }
+        }
+        if (asyncMode) {
+            running.set(false);
+            // Unpark rather than interrupt: an interrupt would close channel-based sinks
+            LockSupport.unpark(workerThread);
+            try {
+                workerThread.join(1000); // Wait up to 1 second for worker to complete
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (workerThread.isAlive() && !workerExitHandshake.getAndSet(true)) {
+                // Still busy with a slow sink; it drains, flushes and closes the rest itself when it stops
+                return;
+            }
+            // Final pass for anything published after the worker's last look
+            drainQueue();
+        }
+        finishSinks();
+        closeOwnedSinks();
+    }
+
+    // Called once by the root logger, before any shutdown
+    void onShutdown(Runnable task) {
+        this.shutdownTask = task;
+    }
+
+    // Called once by the configuration that created these sinks, before any shutdown
+    void closeOnShutdown(List<Closeable> owned) {
+        this.ownedSinks = List.copyOf(owned);
+    }
+
+    // Queued sinks first, so they write their remaining lines before the sinks they wrap close
+    private void closeOwnedSinks() {
+        for (Closeable sink : ownedSinks) {
+            if (sink instanceof QueuedSink) {
+                closeQuietly(sink);
+            }
+        }
+        synchronized (sinkWriteLock) {
+            for (Closeable sink : ownedSinks) {
+                if (!(sink instanceof QueuedSink)) {
+                    closeQuietly(sink);
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(Closeable sink) {
+        try {
+            sink.close();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to close log sink: " + e);
+        }
+    }
+
+    // Final flush on shutdown, syncing too unless the durability mode is NONE. Waits for the
+    // queued sinks, which give up after their own flush timeout.
+    private void finishSinks() {
+        boolean sync = durability != DurabilityMode.NONE;
+        if (sync) {
+            syncQuietly();
+        } else {
+            flushSinks();
+        }
+        try {
+            queuedSinksAsync(sync).join();
+        } catch (CompletionException e) {
+            System.err.println("Failed to flush log sinks: " + e.getCause());
+        }
+    }
+
+    private static final class FlushRequest {
+        final long sequence;
+        final boolean sync;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        FlushRequest(long sequence, boolean sync) {
+            this.sequence = sequence;
+            this.sync = sync;
+        }
+    }
+
+    boolean isAsyncMode() {
+        return asyncMode;
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+}
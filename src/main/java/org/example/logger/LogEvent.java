@@ -0,0 +1,230 @@
+package org.example.logger;
+
+import org.example.logger.format.ParameterFormatter;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A single log call captured as data: level, time, logger and thread name, the raw
+ * message pattern with its parameters, an optional throwable and the MDC context.
+ * <p>
+ * Events are created on the logging thread and formatted by whoever consumes them,
+ * which in async mode is the worker thread. Events created for synchronous delivery
+ * read the MDC of the logging thread lazily instead of copying it, and async events
+ * live in reused ring buffer slots; call {@link #toImmutable()} to keep either kind
+ * beyond the consuming call.
+ */
+public final class LogEvent {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private Level level;
+    private long epochNanos;
+    private String loggerName;
+    private String threadName;
+    private String message;
+    // Up to two parameters are stored inline so fixed-arity calls don't need an array
+    private int parameterCount;
+    private Object parameter1;
+    private Object parameter2;
+    private Object[] parameters;
+    private Throwable throwable;
+    // null means "read the live MDC of the logging thread"
+    private Map<String, String> contextMap;
+    // Ring buffer slots are overwritten once consumed
+    private final boolean reused;
+
+    LogEvent() {
+        this(false);
+    }
+
+    private LogEvent(boolean reused) {
+        this.reused = reused;
+    }
+
+    /**
+     * Creates an empty event for a ring buffer slot.
+     */
+    static LogEvent newReusableSlot() {
+        return new LogEvent(true);
+    }
+
+    /**
+     * Creates an event with a captured MDC context.
+     *
+     * @param level      the message level
+     * @param epochNanos the event time in nanoseconds since the epoch
+     * @param loggerName the name of the logger
+     * @param threadName the name of the logging thread
+     * @param message    the message pattern, possibly with {} placeholders
+     * @param parameters the pattern parameters, may be null
+     * @param throwable  the exception to include, may be null
+     * @param contextMap the MDC values, may be null for an empty context
+     */
+    public LogEvent(Level level, long epochNanos, String loggerName, String threadName, String message,
+                    Object[] parameters, Throwable throwable, Map<String, String> contextMap) {
+        this.reused = false;
+        set(level, epochNanos, loggerName, threadName, message,
+                parameters == null ? 0 : parameters.length, null, null, parameters, throwable,
+                contextMap == null ? Collections.emptyMap() : contextMap);
+    }
+
+    LogEvent set(Level level, long epochNanos, String loggerName, String threadName, String message,
+                 int parameterCount, Object parameter1, Object parameter2, Object[] parameters,
+                 Throwable throwable, Map<String, String> contextMap) {
+        this.level = level;
+        this.epochNanos = epochNanos;
+        this.loggerName = loggerName;
+        this.threadName = threadName;
+        this.message = message;
+        this.parameterCount = parameterCount;
+        this.parameter1 = parameter1;
+        this.parameter2 = parameter2;
+        this.parameters = parameters;
+        this.throwable = throwable;
+        this.contextMap = contextMap;
+        return this;
+    }
+
+    /**
+     * Drops references held by a consumed ring buffer slot.
+     */
+    void clear() {
+        set(null, 0, null, null, null, 0, null, null, null, null, null);
+    }
+
+    static long toEpochNanos(long epochMillis) {
+        return epochMillis * NANOS_PER_MILLI;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * @return the event time in nanoseconds since the epoch; the precision is that of the logger's clock
+     */
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    /**
+     * @return the event time in milliseconds since the epoch
+     */
+    public long getEpochMillis() {
+        return Math.floorDiv(epochNanos, NANOS_PER_MILLI);
+    }
+
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * @return the raw message pattern, before parameter substitution
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
+    /**
+     * @param index parameter position, from 0
+     * @return the parameter at the given position
+     */
+    public Object getParameter(int index) {
+        if (index < 0 || index >= parameterCount) {
+            throw new IndexOutOfBoundsException("parameter " + index + " of " + parameterCount);
+        }
+        if (parameters != null) {
+            return parameters[index];
+        }
+        return index == 0 ? parameter1 : parameter2;
+    }
+
+    /**
+     * @return a copy of the parameters
+     */
+    public Object[] getParameters() {
+        Object[] copy = new Object[parameterCount];
+        for (int i = 0; i < parameterCount; i++) {
+            copy[i] = getParameter(i);
+        }
+        return copy;
+    }
+
+    public Throwable getThrowable() {
+        return throwable;
+    }
+
+    /**
+     * Appends the message with its parameters substituted, without the throwable.
+     */
+    public void formatMessageTo(StringBuilder sb) {
+        ParameterFormatter.formatTo(sb, message, parameterCount, parameter1, parameter2, parameters);
+    }
+
+    /**
+     * @return the message with its parameters substituted, without the throwable
+     */
+    public String getFormattedMessage() {
+        if (parameterCount == 0) {
+            return message;
+        }
+        StringBuilder sb = new StringBuilder(message.length() + 16 * parameterCount);
+        formatMessageTo(sb);
+        return sb.toString();
+    }
+
+    /**
+     * @param key the MDC key
+     * @return the MDC value captured with this event, or null
+     */
+    public String getContextValue(String key) {
+        return contextMap != null ? contextMap.get(key) : MDC.get(key);
+    }
+
+    /**
+     * @param key a registered MDC key
+     * @return the MDC value captured with this event, or null
+     */
+    public String getContextValue(MDCKey key) {
+        if (contextMap instanceof ContextMap) {
+            return ((ContextMap) contextMap).get(key);
+        }
+        return contextMap != null ? contextMap.get(key.name()) : MDC.getRegistered(key);
+    }
+
+    /**
+     * @return an unmodifiable view of the MDC values captured with this event
+     */
+    public Map<String, String> getContextMap() {
+        if (contextMap == null) {
+            return MDC.getCopyOfContextMap();
+        }
+        // MDC snapshots are immutable already
+        return contextMap instanceof ContextMap ? contextMap : Collections.unmodifiableMap(contextMap);
+    }
+
+    /**
+     * Returns an event that is safe to keep after the consuming call returns and to pass
+     * to other threads. Must be called on the logging thread for synchronous events.
+     *
+     * @return this event, or a copy with the MDC context captured
+     */
+    public LogEvent toImmutable() {
+        if (contextMap != null && !reused) {
+            return this;
+        }
+        Object[] parameterCopy = parameters != null ? getParameters() : null;
+        return new LogEvent().set(level, epochNanos, loggerName, threadName, message,
+                parameterCount, parameter1, parameter2, parameterCopy, throwable,
+                contextMap != null ? contextMap : MDC.getCopyOfContextMap());
+    }
+}
@@ -1,42 +1,32 @@
 package org.example.logger;
 
-import org.example.logger.sink.LogMessageSink;
+import org.example.logger.async.AsyncOverflowPolicy;
+import org.example.logger.format.ParameterFormatter;
+import org.example.logger.format.ThrowableRenderer;
+import org.example.logger.sink.AbstractLogSink;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.io.Closeable;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class Logger {
-    private static final Pattern MDC_PATTERN = Pattern.compile("\\{MDC:(\\w+)\\}");
     private final String loggerName;
-    private final List<LogMessageSink> sinks = new ArrayList<>();
-    private final DateTimeFormatter dateTimeFormat;
-    //supported message keywords - TIMESTAMP, LEVEL, MESSAGE, LOGGER, MDC
-    private final String messageFormat;
-    private final String timeFormatPattern;
-
-    // Async logging support
-    private final boolean asyncMode;
-    private final BlockingQueue<QueuedLogMessage> messageQueue;
-    private final Thread workerThread;
-    private final AtomicBoolean running = new AtomicBoolean(true);
-    private final int bufferSize;
-    private final ReentrantLock queueLock = new ReentrantLock();
+    // Shared by this logger and every logger created from it
+    private final LogDispatcher dispatcher;
+    private final LoggerFactory factory;
+    // Level set on this logger, or null to inherit from its parent
+    private volatile Level level;
+    // Lowest level int this logger passes, from its own or an inherited level
+    private volatile int levelThreshold = Integer.MIN_VALUE;
+    // This logger's own or inherited rate limits, null if it has none
+    private volatile RateLimiter rateLimiter;
 
     /**
      * Create a new synchronous logger
      */
-    public Logger(String loggerName, String timeFormat, String messageFormat, LogMessageSink... sinks) {
+    public Logger(String loggerName, String timeFormat, String messageFormat, AbstractLogSink... sinks) {
         this(loggerName, timeFormat, messageFormat, false, 0, sinks);
     }
 
@@ -44,111 +34,195 @@ public class Logger {
      * Create a new logger with optional async mode
      */
     public Logger(String loggerName, String timeFormat, String messageFormat,
-                  boolean asyncMode, int bufferSize, LogMessageSink... sinks) {
+                  boolean asyncMode, int bufferSize, AbstractLogSink... sinks) {
+        this(loggerName, timeFormat, messageFormat, asyncMode, bufferSize, LogClock.SYSTEM, sinks);
+    }
+
+    /**
+     * Create a new logger with optional async mode and a custom clock for timestamps
+     */
+    public Logger(String loggerName, String timeFormat, String messageFormat,
+                  boolean asyncMode, int bufferSize, LogClock clock, AbstractLogSink... sinks) {
+        this(loggerName, timeFormat, messageFormat, asyncMode, bufferSize, clock, false, sinks);
+    }
+
+    /**
+     * Create a new logger with optional async mode, a custom clock, and optionally
+     * substituting {} parameters on the async worker thread instead of the caller
+     */
+    public Logger(String loggerName, String timeFormat, String messageFormat,
+                  boolean asyncMode, int bufferSize, LogClock clock, boolean deferParameterFormatting,
+                  AbstractLogSink... sinks) {
+        this(loggerName, timeFormat, messageFormat, asyncMode, bufferSize, clock, deferParameterFormatting,
+                AsyncOverflowPolicy.BLOCK, Level.WARN, DurabilityMode.NONE, 0, sinks);
+    }
+
+    // Used by tests to pass the async overflow and durability settings
+    Logger(String loggerName, String timeFormat, String messageFormat,
+           boolean asyncMode, int bufferSize, LogClock clock, boolean deferParameterFormatting,
+           AsyncOverflowPolicy overflowPolicy, Level dropBelowLevel, DurabilityMode durability,
+           long syncIntervalMillis, AbstractLogSink... sinks) {
+        this(loggerName, timeFormat, messageFormat, asyncMode, bufferSize, clock, deferParameterFormatting,
+                overflowPolicy, dropBelowLevel, durability, syncIntervalMillis, ThrowableRenderer.FULL, sinks);
+    }
+
+    // Used by LoggerConfig to pass every setting
+    Logger(String loggerName, String timeFormat, String messageFormat,
+           boolean asyncMode, int bufferSize, LogClock clock, boolean deferParameterFormatting,
+           AsyncOverflowPolicy overflowPolicy, Level dropBelowLevel, DurabilityMode durability,
+           long syncIntervalMillis, ThrowableRenderer throwableRenderer, AbstractLogSink... sinks) {
         this.loggerName = loggerName;
-        this.sinks.addAll(Arrays.asList(sinks));
-        this.timeFormatPattern = timeFormat;
-        this.dateTimeFormat = DateTimeFormatter.ofPattern(timeFormat);
-        this.messageFormat = messageFormat;
-
-        // Initialize async support if enabled
-        this.asyncMode = asyncMode;
-        this.bufferSize = bufferSize;
-
-        if (asyncMode) {
-            this.messageQueue = new LinkedBlockingQueue<>();
-            this.workerThread = createAndStartWorkerThread();
-        } else {
-            this.messageQueue = null;
-            this.workerThread = null;
-        }
+        this.dispatcher = new LogDispatcher(loggerName, timeFormat, messageFormat, asyncMode, bufferSize, clock,
+                deferParameterFormatting, overflowPolicy, dropBelowLevel, durability, syncIntervalMillis,
+                throwableRenderer, Arrays.asList(sinks));
+        this.factory = new LoggerFactory(this);
+        dispatcher.onShutdown(factory::onShutdown);
+    }
 
-        // This will flush any remaining messages when application is shutting down
-        Runtime.getRuntime().addShutdownHook(new Thread(this::flush));
-    }
-
-    // Create and start the worker thread for async processing
-    private Thread createAndStartWorkerThread() {
-        Thread worker = new Thread(() -> {
-            while (running.get()) {
-                try {
-                    QueuedLogMessage message = messageQueue.take();
-                    sendMessageToEachSink(message.getLevel(), message.getFormattedMessage());
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
-            // Process remaining messages on shutdown
-            drainQueue();
-        });
-        worker.setName("Logger-Worker-" + loggerName);
-        worker.setDaemon(true);
-        worker.start();
-        return worker;
-    }
-
-    private String formatMessage(Level messageLevel, String message) {
-        String formattedTime = LocalDateTime.now().format(dateTimeFormat);
-        String formattedMessage = messageFormat
-                .replace("{TIMESTAMP}", formattedTime)
-                .replace("{LEVEL}", messageLevel.name())
-                .replace("{LOGGER}", loggerName);
-
-        // Process MDC variables
-        Matcher matcher = MDC_PATTERN.matcher(formattedMessage);
-        StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            String mdcKey = matcher.group(1);
-            String mdcValue = MDC.get(mdcKey);
-            matcher.appendReplacement(sb, mdcValue != null ? Matcher.quoteReplacement(mdcValue) : "");
-        }
-        matcher.appendTail(sb);
+    // Child loggers reuse the root's dispatcher, so they add no threads or shutdown hooks
+    private Logger(String loggerName, LogDispatcher dispatcher, LoggerFactory factory) {
+        this.loggerName = loggerName;
+        this.dispatcher = dispatcher;
+        this.factory = factory;
+    }
 
-        return sb.toString()
-            .replace("{MESSAGE}", message);
+    // Called by the factory on a cache miss
+    Logger newChild(String name) {
+        return new Logger(name, dispatcher, factory);
     }
 
-    public void log(Level messageLevel, String message) {
-        if (messageLevel == null || message == null || message.isEmpty()) {
-            return;
-        }
+    /**
+     * Checks whether the level passes this logger's own or inherited level and at least
+     * one sink accepts it. Use this to guard expensive message construction.
+     *
+     * @param level the level to check
+     * @return true if a message at this level would be written somewhere
+     */
+    public boolean isEnabled(Level level) {
+        return level != null && isLevelEnabled(level);
+    }
+
+    // Two volatile reads: this logger's effective level, then the lowest sink level
+    private boolean isLevelEnabled(Level level) {
+        return level.getLevelInt() >= levelThreshold && dispatcher.isEnabled(level);
+    }
+
+    /**
+     * Sets this logger's level. Loggers below it in the dot-separated hierarchy that
+     * have no level of their own inherit it.
+     *
+     * @param level the lowest level to log, or null to inherit from the parent
+     */
+    public void setLevel(Level level) {
+        factory.onLevelChanged(this, level);
+    }
+
+    /**
+     * @return the level set on this logger, or null if it inherits its parent's
+     */
+    public Level getLevel() {
+        return level;
+    }
 
-        String formattedMessage = formatMessage(messageLevel, message);
+    // Called by the factory, under its lock
+    void storeLevel(Level level) {
+        this.level = level;
+    }
 
-        if (asyncMode) {
-            queueMessage(messageLevel, formattedMessage);
-        } else {
-            sendMessageToEachSink(messageLevel, formattedMessage);
+    // Called by the factory with this logger's own or inherited level
+    void updateEffectiveLevel(Level effectiveLevel) {
+        this.levelThreshold = effectiveLevel == null ? Integer.MIN_VALUE : effectiveLevel.getLevelInt();
+    }
+
+    /**
+     * Limits how often messages at this level are logged through this logger. Each message
+     * pattern, or each call site for supplier messages, gets its own token bucket. Suppressed
+     * messages are counted and reported as "Suppressed N similar messages in the last T seconds"
+     * before the next message the bucket admits. Loggers below this one in the hierarchy
+     * without their own limit for the level inherit it.
+     * <p>
+     * Use {} patterns for messages that should be limited together: a message built by
+     * concatenation, such as {@code "order " + id}, gets a bucket of its own for every id.
+     *
+     * @param level           the level to limit
+     * @param eventsPerSecond the sustained rate, or 0 to remove this logger's limit and inherit again
+     * @param burst           how many messages may be logged at once before the rate applies
+     */
+    public void setRateLimit(Level level, double eventsPerSecond, int burst) {
+        if (level == null) {
+            throw new IllegalArgumentException("Level cannot be null");
         }
+        factory.onRateLimitChanged(this, level,
+                eventsPerSecond == 0 ? null : new RateLimiter.Policy(eventsPerSecond, burst));
     }
 
-    private void queueMessage(Level messageLevel, String formattedMessage) {
-        try {
-            queueLock.lock();
-            messageQueue.put(new QueuedLogMessage(messageLevel, formattedMessage));
-
-            // Notify worker if buffer is full to promote processing
-            if (messageQueue.size() >= bufferSize) {
-                synchronized (workerThread) {
-                    workerThread.notify();
-                }
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.err.println("Failed to queue log message: " + e.getMessage());
-        } finally {
-            queueLock.unlock();
+    // Called by the factory's timer and at shutdown, for buckets that have not admitted since suppressing
+    void reportSuppressed(long nowNanos, boolean force) {
+        RateLimiter limiter = rateLimiter;
+        if (limiter != null) {
+            limiter.takeSummaries(nowNanos, force, (level, summary) ->
+                    dispatcher.dispatch(level, loggerName, summary, 0, null, null, null, null));
         }
     }
 
-    private void drainQueue() {
-        if (messageQueue == null) return;
+    // Called by the factory with the limiter for this logger's own or inherited limits
+    void updateRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
 
-        QueuedLogMessage message;
-        while ((message = messageQueue.poll()) != null) {
-            sendMessageToEachSink(message.getLevel(), message.getFormattedMessage());
+    /**
+     * @return this logger's name
+     */
+    public String getName() {
+        return loggerName;
+    }
+
+    /**
+     * @return true if DEBUG messages would be written somewhere
+     */
+    public boolean isDebugEnabled() {
+        return isLevelEnabled(Level.DEBUG);
+    }
+
+    /**
+     * @return true if INFO messages would be written somewhere
+     */
+    public boolean isInfoEnabled() {
+        return isLevelEnabled(Level.INFO);
+    }
+
+    /**
+     * @return true if WARN messages would be written somewhere
+     */
+    public boolean isWarnEnabled() {
+        return isLevelEnabled(Level.WARN);
+    }
+
+    /**
+     * @return true if ERROR messages would be written somewhere
+     */
+    public boolean isErrorEnabled() {
+        return isLevelEnabled(Level.ERROR);
+    }
+
+    /**
+     * @return true if FATAL messages would be written somewhere
+     */
+    public boolean isFatalEnabled() {
+        return isLevelEnabled(Level.FATAL);
+    }
+
+    public void log(Level messageLevel, String message) {
+        if (messageLevel == null || message == null || message.isEmpty()
+                || !isLevelEnabled(messageLevel) || !admit(messageLevel, message)) {
+            return;
         }
+
+        dispatcher.dispatch(messageLevel, loggerName, message, 0, null, null, null, null);
     }
 
     /**
@@ -159,17 +233,143 @@ public class Logger {
      * @param throwable    the exception to include
      */
     public void log(Level messageLevel, String message, Throwable throwable) {
-        if (messageLevel == null || message == null) {
+        if (messageLevel == null || message == null || (message.isEmpty() && throwable == null)
+                || !isLevelEnabled(messageLevel) || !admit(messageLevel, message)) {
             return;
         }
 
-        if (throwable != null) {
-            StringWriter sw = new StringWriter();
-            throwable.printStackTrace(new PrintWriter(sw));
-            message = message + "\n" + sw.toString();
+        // The stack trace is rendered by the layout, on the consuming thread
+        dispatcher.dispatch(messageLevel, loggerName, message, 0, null, null, null, throwable);
+    }
+
+    /**
+     * Logs a message built by a supplier, which is only called if some sink accepts the level.
+     *
+     * @param messageLevel    the log level
+     * @param messageSupplier builds the message to log
+     */
+    public void logLazy(Level messageLevel, Supplier<String> messageSupplier) {
+        logLazy(messageLevel, messageSupplier, null);
+    }
+
+    /**
+     * Logs a message built by a supplier with an optional exception stack trace. Neither
+     * the supplier nor the stack trace is evaluated unless some sink accepts the level.
+     * The supplier methods are named apart from the String ones, so that passing a null
+     * message, as in {@code log(level, null, e)}, is not ambiguous.
+     *
+     * @param messageLevel    the log level
+     * @param messageSupplier builds the message to log
+     * @param throwable       the exception to include, may be null
+     */
+    public void logLazy(Level messageLevel, Supplier<String> messageSupplier, Throwable throwable) {
+        // Each lambda or method reference is its own class, so the class identifies the call site
+        if (messageLevel == null || messageSupplier == null || !isLevelEnabled(messageLevel)
+                || !admit(messageLevel, messageSupplier.getClass())) {
+            return;
+        }
+        String message = messageSupplier.get();
+        if (message == null || (message.isEmpty() && throwable == null)) {
+            return;
         }
+        dispatcher.dispatch(messageLevel, loggerName, message, 0, null, null, null, throwable);
+    }
 
-        log(messageLevel, message);
+    /**
+     * Logs a message with one {} parameter. The parameter is substituted only if
+     * the level is enabled. A trailing Throwable without a matching placeholder is
+     * logged as the exception.
+     *
+     * @param messageLevel the log level
+     * @param pattern      the message pattern
+     * @param arg          the parameter
+     */
+    public void log(Level messageLevel, String pattern, Object arg) {
+        logParameterized(messageLevel, pattern, 1, arg, null, null);
+    }
+
+    /**
+     * Logs a message with two {} parameters.
+     *
+     * @param messageLevel the log level
+     * @param pattern      the message pattern
+     * @param arg1         the first parameter
+     * @param arg2         the second parameter
+     */
+    public void log(Level messageLevel, String pattern, Object arg1, Object arg2) {
+        logParameterized(messageLevel, pattern, 2, arg1, arg2, null);
+    }
+
+    /**
+     * Logs a message with any number of {} parameters.
+     *
+     * @param messageLevel the log level
+     * @param pattern      the message pattern
+     * @param args         the parameters
+     */
+    public void log(Level messageLevel, String pattern, Object... args) {
+        logParameterized(messageLevel, pattern, args == null ? 0 : args.length, null, null, args);
+    }
+
+    /**
+     * Logs a message and returns a future completed once it is on disk: written and forced
+     * to the storage device by every sink that supports it ({@link org.example.logger.sink.Syncable}).
+     * Concurrent durable calls share one sync, whatever the {@link DurabilityMode}.
+     *
+     * @param messageLevel the log level
+     * @param pattern      the message, optionally with {} parameters
+     * @param args         the parameters
+     * @return a future completed after the sync; already complete if the level is disabled,
+     * and completed exceptionally if the sync failed, or the rate limit or overflow policy dropped the message
+     */
+    public CompletableFuture<Void> logDurable(Level messageLevel, String pattern, Object... args) {
+        if (messageLevel == null || pattern == null || pattern.isEmpty() || !isLevelEnabled(messageLevel)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!logParameterized(messageLevel, pattern, args == null ? 0 : args.length, null, null, args)) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Message dropped by the rate limit or because the async queue was full"));
+        }
+        return dispatcher.syncAsync();
+    }
+
+    // Returns false if the message was filtered out or dropped
+    private boolean logParameterized(Level messageLevel, String pattern, int argCount,
+                                     Object arg1, Object arg2, Object[] args) {
+        if (messageLevel == null || pattern == null || pattern.isEmpty()
+                || !isLevelEnabled(messageLevel) || !admit(messageLevel, pattern)) {
+            return false;
+        }
+
+        Throwable throwable = null;
+        Object last = argCount == 0 ? null : args != null ? args[argCount - 1] : argCount == 1 ? arg1 : arg2;
+        if (last instanceof Throwable && ParameterFormatter.countPlaceholders(pattern) < argCount) {
+            throwable = (Throwable) last;
+            argCount--;
+        }
+
+        return dispatcher.dispatch(messageLevel, loggerName, pattern, argCount, arg1, arg2, args, throwable);
+    }
+
+    // Lock-free: a map lookup and a compare-and-set, and only for levels with a rate limit
+    private boolean admit(Level messageLevel, Object key) {
+        RateLimiter limiter = rateLimiter;
+        if (limiter == null) {
+            return true;
+        }
+        RateLimiter.Bucket bucket = limiter.bucket(messageLevel, key);
+        if (bucket == null) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (!bucket.tryAcquire(now)) {
+            return false;
+        }
+        String summary = bucket.takeSummary(now, key);
+        if (summary != null) {
+            dispatcher.dispatch(messageLevel, loggerName, summary, 0, null, null, null, null);
+        }
+        return true;
     }
 
     /**
@@ -191,6 +391,56 @@ public class Logger {
         log(Level.DEBUG, message, throwable);
     }
 
+    /**
+     * Logs a DEBUG level message built lazily by the supplier
+     *
+     * @param messageSupplier builds the message to log
+     */
+    public void debugLazy(Supplier<String> messageSupplier) {
+        logLazy(Level.DEBUG, messageSupplier, null);
+    }
+
+    /**
+     * Logs a DEBUG level message built lazily by the supplier, with exception
+     *
+     * @param messageSupplier builds the message to log
+     * @param throwable       the exception to include
+     */
+    public void debugLazy(Supplier<String> messageSupplier, Throwable throwable) {
+        logLazy(Level.DEBUG, messageSupplier, throwable);
+    }
+
+    /**
+     * Logs a DEBUG level message with one {} parameter
+     *
+     * @param pattern the message pattern
+     * @param arg     the parameter
+     */
+    public void debug(String pattern, Object arg) {
+        logParameterized(Level.DEBUG, pattern, 1, arg, null, null);
+    }
+
+    /**
+     * Logs a DEBUG level message with two {} parameters
+     *
+     * @param pattern the message pattern
+     * @param arg1    the first parameter
+     * @param arg2    the second parameter
+     */
+    public void debug(String pattern, Object arg1, Object arg2) {
+        logParameterized(Level.DEBUG, pattern, 2, arg1, arg2, null);
+    }
+
+    /**
+     * Logs a DEBUG level message with any number of {} parameters
+     *
+     * @param pattern the message pattern
+     * @param args    the parameters
+     */
+    public void debug(String pattern, Object... args) {
+        logParameterized(Level.DEBUG, pattern, args == null ? 0 : args.length, null, null, args);
+    }
+
     /**
      * Logs an INFO level message
      *
@@ -210,6 +460,56 @@ public class Logger {
         log(Level.INFO, message, throwable);
     }
 
+    /**
+     * Logs an INFO level message built lazily by the supplier
+     *
+     * @param messageSupplier builds the message to log
+     */
+    public void infoLazy(Supplier<String> messageSupplier) {
+        logLazy(Level.INFO, messageSupplier, null);
+    }
+
+    /**
+     * Logs an INFO level message built lazily by the supplier, with exception
+     *
+     * @param messageSupplier builds the message to log
+     * @param throwable       the exception to include
+     */
+    public void infoLazy(Supplier<String> messageSupplier, Throwable throwable) {
+        logLazy(Level.INFO, messageSupplier, throwable);
+    }
+
+    /**
+     * Logs an INFO level message with one {} parameter
+     *
+     * @param pattern the message pattern
+     * @param arg     the parameter
+     */
+    public void info(String pattern, Object arg) {
+        logParameterized(Level.INFO, pattern, 1, arg, null, null);
+    }
+
+    /**
+     * Logs an INFO level message with two {} parameters
+     *
+     * @param pattern the message pattern
+     * @param arg1    the first parameter
+     * @param arg2    the second parameter
+     */
+    public void info(String pattern, Object arg1, Object arg2) {
+        logParameterized(Level.INFO, pattern, 2, arg1, arg2, null);
+    }
+
+    /**
+     * Logs an INFO level message with any number of {} parameters
+     *
+     * @param pattern the message pattern
+     * @param args    the parameters
+     */
+    public void info(String pattern, Object... args) {
+        logParameterized(Level.INFO, pattern, args == null ? 0 : args.length, null, null, args);
+    }
+
     /**
      * Logs a WARN level message
      *
@@ -229,6 +529,56 @@ public class Logger {
         log(Level.WARN, message, throwable);
     }
 
+    /**
+     * Logs a WARN level message built lazily by the supplier
+     *
+     * @param messageSupplier builds the message to log
+     */
+    public void warnLazy(Supplier<String> messageSupplier) {
+        logLazy(Level.WARN, messageSupplier, null);
+    }
+
+    /**
+     * Logs a WARN level message built lazily by the supplier, with exception
+     *
+     * @param messageSupplier builds the message to log
+     * @param throwable       the exception to include
+     */
+    public void warnLazy(Supplier<String> messageSupplier, Throwable throwable) {
+        logLazy(Level.WARN, messageSupplier, throwable);
+    }
+
+    /**
+     * Logs a WARN level message with one {} parameter
+     *
+     * @param pattern the message pattern
+     * @param arg     the parameter
+     */
+    public void warn(String pattern, Object arg) {
+        logParameterized(Level.WARN, pattern, 1, arg, null, null);
+    }
+
+    /**
+     * Logs a WARN level message with two {} parameters
+     *
+     * @param pattern the message pattern
+     * @param arg1    the first parameter
+     * @param arg2    the second parameter
+     */
+    public void warn(String pattern, Object arg1, Object arg2) {
+        logParameterized(Level.WARN, pattern, 2, arg1, arg2, null);
+    }
+
+    /**
+     * Logs a WARN level message with any number of {} parameters
+     *
+     * @param pattern the message pattern
+     * @param args    the parameters
+     */
+    public void warn(String pattern, Object... args) {
+        logParameterized(Level.WARN, pattern, args == null ? 0 : args.length, null, null, args);
+    }
+
     /**
      * Logs an ERROR level message
      *
@@ -248,6 +598,56 @@ public class Logger {
         log(Level.ERROR, message, throwable);
     }
 
+    /**
+     * Logs an ERROR level message built lazily by the supplier
+     *
+     * @param messageSupplier builds the message to log
+     */
+    public void errorLazy(Supplier<String> messageSupplier) {
+        logLazy(Level.ERROR, messageSupplier, null);
+    }
+
+    /**
+     * Logs an ERROR level message built lazily by the supplier, with exception
+     *
+     * @param messageSupplier builds the message to log
+     * @param throwable       the exception to include
+     */
+    public void errorLazy(Supplier<String> messageSupplier, Throwable throwable) {
+        logLazy(Level.ERROR, messageSupplier, throwable);
+    }
+
+    /**
+     * Logs an ERROR level message with one {} parameter
+     *
+     * @param pattern the message pattern
+     * @param arg     the parameter
+     */
+    public void error(String pattern, Object arg) {
+        logParameterized(Level.ERROR, pattern, 1, arg, null, null);
+    }
+
+    /**
+     * Logs an ERROR level message with two {} parameters
+     *
+     * @param pattern the message pattern
+     * @param arg1    the first parameter
+     * @param arg2    the second parameter
+     */
+    public void error(String pattern, Object arg1, Object arg2) {
+        logParameterized(Level.ERROR, pattern, 2, arg1, arg2, null);
+    }
+
+    /**
+     * Logs an ERROR level message with any number of {} parameters
+     *
+     * @param pattern the message pattern
+     * @param args    the parameters
+     */
+    public void error(String pattern, Object... args) {
+        logParameterized(Level.ERROR, pattern, args == null ? 0 : args.length, null, null, args);
+    }
+
     /**
      * Logs a FATAL level message
      *
@@ -267,117 +667,125 @@ public class Logger {
         log(Level.FATAL, message, throwable);
     }
 
-    private void sendMessageToEachSink(Level messageLevel, String formattedMessage) {
-        for (LogMessageSink sink : sinks) {
-            sink.consumeMessage(messageLevel, formattedMessage);
-        }
+    /**
+     * Logs a FATAL level message built lazily by the supplier
+     *
+     * @param messageSupplier builds the message to log
+     */
+    public void fatalLazy(Supplier<String> messageSupplier) {
+        logLazy(Level.FATAL, messageSupplier, null);
     }
 
-    public void flush() {
-        if (asyncMode) {
-            flushAsyncQueue();
-        }
-        sinks.forEach(LogMessageSink::flush);
-    }
-
-    private void flushAsyncQueue() {
-        if (messageQueue == null) return;
-
-        try {
-            queueLock.lock();
-            // Create a temporary thread to process all current messages
-            Thread flushThread = new Thread(() -> {
-                // Make a snapshot of the current queue to ensure we only process
-                // messages that were in the queue at the time flush was called
-                int currentSize = messageQueue.size();
-                for (int i = 0; i < currentSize; i++) {
-                    try {
-                        QueuedLogMessage message = messageQueue.take();
-                        sendMessageToEachSink(message.getLevel(), message.getFormattedMessage());
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
-            });
-            flushThread.start();
-            flushThread.join(); // Wait for flush to complete
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } finally {
-            queueLock.unlock();
-        }
+    /**
+     * Logs a FATAL level message built lazily by the supplier, with exception
+     *
+     * @param messageSupplier builds the message to log
+     * @param throwable       the exception to include
+     */
+    public void fatalLazy(Supplier<String> messageSupplier, Throwable throwable) {
+        logLazy(Level.FATAL, messageSupplier, throwable);
     }
 
     /**
-     * Stops the async worker thread and processes remaining messages
+     * Logs a FATAL level message with one {} parameter
+     *
+     * @param pattern the message pattern
+     * @param arg     the parameter
      */
-    public void shutdown() {
-        if (!asyncMode) return;
-
-        running.set(false);
-        if (workerThread != null) {
-            workerThread.interrupt();
-            try {
-                workerThread.join(1000); // Wait up to 1 second for worker to complete
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
+    public void fatal(String pattern, Object arg) {
+        logParameterized(Level.FATAL, pattern, 1, arg, null, null);
+    }
 
-        // Final flush to process any remaining messages
-        drainQueue();
+    /**
+     * Logs a FATAL level message with two {} parameters
+     *
+     * @param pattern the message pattern
+     * @param arg1    the first parameter
+     * @param arg2    the second parameter
+     */
+    public void fatal(String pattern, Object arg1, Object arg2) {
+        logParameterized(Level.FATAL, pattern, 2, arg1, arg2, null);
     }
 
     /**
-     * Creates a new Logger with the same configuration but a different name.
-     * Useful for creating loggers for different components.
+     * Logs a FATAL level message with any number of {} parameters
      *
-     * @param name the name for the new logger
-     * @return a new Logger instance with the provided name
+     * @param pattern the message pattern
+     * @param args    the parameters
      */
-    public Logger getLogger(String name) {
-        return new Logger(name, timeFormatPattern, messageFormat,
-                asyncMode, bufferSize,
-                sinks.toArray(new LogMessageSink[0]));
+    public void fatal(String pattern, Object... args) {
+        logParameterized(Level.FATAL, pattern, args == null ? 0 : args.length, null, null, args);
     }
 
     /**
-     * @return true if this logger is in async mode
+     * @param level the level to look up
+     * @return the number of events at this level dropped because the async queue was full
      */
-    public boolean isAsyncMode() {
-        return asyncMode;
+    public long getDroppedCount(Level level) {
+        return dispatcher.getDroppedCount(level);
     }
 
     /**
-     * @return the buffer size for async mode
+     * Delivers everything logged so far and flushes the sinks
      */
-    public int getBufferSize() {
-        return bufferSize;
+    public void flush() {
+        dispatcher.flush();
     }
 
-    // Wrapper class for queued log messages in async mode
-    private static class QueuedLogMessage {
-        private final Level level;
-        private final String formattedMessage;
-        private final long timestamp;
+    /**
+     * Requests a flush without waiting for it. In async mode the worker completes the
+     * future once everything logged before this call is written and the sinks are flushed.
+     *
+     * @return a future completed after the flush, or completed exceptionally if a sink failed
+     */
+    public CompletableFuture<Void> flushAsync() {
+        return dispatcher.flushAsync();
+    }
 
-        QueuedLogMessage(Level level, String formattedMessage) {
-            this.level = level;
-            this.formattedMessage = formattedMessage;
-            this.timestamp = System.nanoTime();
-        }
+    /**
+     * Stops the async worker once it has processed the remaining messages, then flushes the sinks
+     * and closes those that {@link LoggerConfig} created. The worker, sinks and shutdown hook are
+     * shared with this logger's parent and children, so this shuts down all of them.
+     */
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
 
-        public Level getLevel() {
-            return level;
-        }
+    // Called by LoggerConfig with the sinks it created, which are closed on shutdown
+    void closeOnShutdown(List<Closeable> ownedSinks) {
+        dispatcher.closeOnShutdown(ownedSinks);
+    }
 
-        public String getFormattedMessage() {
-            return formattedMessage;
-        }
+    /**
+     * Returns the logger with this name that shares this logger's configuration,
+     * sinks and async worker, creating it on first use. Useful for creating loggers
+     * for different components.
+     *
+     * @param name the logger name, dot-separated for hierarchy
+     * @return the cached Logger instance with the provided name
+     */
+    public Logger getLogger(String name) {
+        return factory.getLogger(name);
+    }
 
-        public long getTimestamp() {
-            return timestamp;
-        }
+    /**
+     * @return the registry of loggers sharing this logger's configuration
+     */
+    public LoggerFactory getLoggerFactory() {
+        return factory;
+    }
+
+    /**
+     * @return true if this logger is in async mode
+     */
+    public boolean isAsyncMode() {
+        return dispatcher.isAsyncMode();
+    }
+
+    /**
+     * @return the configured buffer size for async mode; the ring buffer rounds it up to a power of two
+     */
+    public int getBufferSize() {
+        return dispatcher.getBufferSize();
     }
 }
@@ -1,19 +1,36 @@
 package org.example.logger;
 
+import org.example.logger.async.AsyncOverflowPolicy;
+import org.example.logger.format.ThrowableRenderer;
+import org.example.logger.sink.AbstractLogSink;
 import org.example.logger.sink.LogMessageSink;
+import org.example.logger.sink.impl.AsyncSink;
+import org.example.logger.sink.impl.BinaryLogSink;
+import org.example.logger.sink.impl.ChannelFileSink;
+import org.example.logger.sink.impl.CompressedFileSink;
+import org.example.logger.sink.impl.ConsoleSink;
 import org.example.logger.sink.impl.FileSink;
+import org.example.logger.sink.impl.FileSinkType;
+import org.example.logger.sink.impl.MappedFileSink;
+import org.example.logger.sink.impl.RollingFileSink;
 import org.example.logger.sink.impl.StdOutSink;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Locale;
 import java.util.Properties;
+import java.util.zip.Deflater;
 
 /**
  * Configuration class for the logging system using a fluent builder pattern.
  */
 public class LoggerConfig {
-    private final List<LogMessageSink> sinks = new ArrayList<>();
+    private final List<AbstractLogSink> sinks = new ArrayList<>();
     // Default configuration values
     private String loggerName = "RootLogger";
     private String dateFormat = "yyyy-MM-dd HH:mm:ss";
@@ -22,11 +39,36 @@ public class LoggerConfig {
     private boolean includeFile = false;
     private String logFilePath = "logs/application.log";
     private Level consoleLevel = Level.INFO;
+    private boolean bufferedConsole = false;
+    private Level consoleStderrLevel = null;
+    private String consolePrefix = "";
     private Level fileLevel = Level.INFO;
     private int asyncBufferSize = 100;
     private boolean appendToFile = true;
     private boolean immediateFlush = true;
+    private FileSinkType fileSinkType = FileSinkType.STREAM;
+    private int mappedRegionSize = MappedFileSink.DEFAULT_REGION_SIZE;
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private int compressionBlockSize = CompressedFileSink.DEFAULT_BLOCK_SIZE;
+    private boolean rollFile = false;
+    private long rollMaxFileSize = 0;
+    private Duration rollInterval = null;
+    private int rollMaxHistory = 0;
+    private boolean rollCompress = true;
     private boolean asyncMode = false;
+    private boolean coarseClock = false;
+    private boolean deferParameterFormatting = false;
+    private AsyncOverflowPolicy asyncOverflowPolicy = AsyncOverflowPolicy.BLOCK;
+    private Level asyncDropBelowLevel = Level.WARN;
+    private final Map<String, Level> loggerLevels = new LinkedHashMap<>();
+    private final List<RateLimitSetting> rateLimits = new ArrayList<>();
+    private boolean isolateSinks = false;
+    private int sinkQueueSize = 1024;
+    private AsyncOverflowPolicy sinkOverflowPolicy = AsyncOverflowPolicy.BLOCK;
+    private boolean sinkVirtualThreads = false;
+    private DurabilityMode durability = DurabilityMode.NONE;
+    private long syncIntervalMillis = 1000;
+    private ThrowableRenderer throwableRenderer = ThrowableRenderer.FULL;
 
     /**
      * Load a logger configuration from properties.
@@ -57,6 +99,14 @@ public class LoggerConfig {
             config.withConsole(enabled, level);
         }
 
+        if (Boolean.parseBoolean(props.getProperty("logger.console.buffered", "false"))) {
+            config.withBufferedConsole(
+                    props.containsKey("logger.console.stderrLevel")
+                            ? Level.valueOf(props.getProperty("logger.console.stderrLevel").trim())
+                            : null,
+                    props.getProperty("logger.console.prefix", ""));
+        }
+
         // Configure file output
         if (props.containsKey("logger.file.enabled")) {
             boolean enabled = Boolean.parseBoolean(props.getProperty("logger.file.enabled"));
@@ -67,7 +117,44 @@ public class LoggerConfig {
 
             config.withFile(enabled, path, level,
                     Boolean.parseBoolean(props.getProperty("logger.file.append", "true")),
-                    Boolean.parseBoolean(props.getProperty("logger.file.immediateFlush", "true")));
+                    Boolean.parseBoolean(props.getProperty("logger.file.immediateFlush", "true")),
+                    FileSinkType.valueOf(
+                            props.getProperty("logger.file.type", "STREAM").trim().toUpperCase(Locale.ROOT)));
+        }
+
+        if (props.containsKey("logger.file.rolling.maxSize") || props.containsKey("logger.file.rolling.interval")) {
+            config.withFileRolling(
+                    parseSize(props.getProperty("logger.file.rolling.maxSize", "0")),
+                    props.containsKey("logger.file.rolling.interval")
+                            ? Duration.parse(props.getProperty("logger.file.rolling.interval").trim())
+                            : null,
+                    Integer.parseInt(props.getProperty("logger.file.rolling.maxHistory", "0")),
+                    Boolean.parseBoolean(props.getProperty("logger.file.rolling.compress", "true")));
+        }
+
+        if (props.containsKey("logger.file.regionSize")) {
+            config.withMappedRegionSize(Integer.parseInt(props.getProperty("logger.file.regionSize")));
+        }
+
+        if (props.containsKey("logger.file.compression.level") || props.containsKey("logger.file.compression.blockSize")) {
+            config.withFileCompression(
+                    Integer.parseInt(props.getProperty("logger.file.compression.level", "-1")),
+                    (int) parseSize(props.getProperty("logger.file.compression.blockSize",
+                            String.valueOf(CompressedFileSink.DEFAULT_BLOCK_SIZE))));
+        }
+
+        if (props.containsKey("logger.durability")) {
+            config.withDurability(
+                    DurabilityMode.valueOf(props.getProperty("logger.durability").trim().toUpperCase(Locale.ROOT)),
+                    Long.parseLong(props.getProperty("logger.durability.intervalMs", "1000")));
+        }
+
+        if (props.containsKey("logger.throwable.maxFrames") || props.containsKey("logger.throwable.maxCauses")
+                || props.containsKey("logger.throwable.dedupWindowMs")) {
+            config.withThrowableRendering(
+                    Integer.parseInt(props.getProperty("logger.throwable.maxFrames", "0")),
+                    Integer.parseInt(props.getProperty("logger.throwable.maxCauses", "0")),
+                    Long.parseLong(props.getProperty("logger.throwable.dedupWindowMs", "0")));
         }
 
         // Configure async mode
@@ -80,6 +167,60 @@ public class LoggerConfig {
                     Integer.parseInt(props.getProperty("logger.async.bufferSize")));
         }
 
+        if (props.containsKey("logger.async.overflow")) {
+            AsyncOverflowPolicy policy = AsyncOverflowPolicy.valueOf(
+                    props.getProperty("logger.async.overflow").trim().toUpperCase(Locale.ROOT));
+            Level level = props.containsKey("logger.async.overflow.level")
+                    ? Level.valueOf(props.getProperty("logger.async.overflow.level"))
+                    : Level.WARN;
+            config.withAsyncOverflowPolicy(policy, level);
+        }
+
+        if (props.containsKey("logger.async.deferParameterFormatting")) {
+            config.withDeferredParameterFormatting(
+                    Boolean.parseBoolean(props.getProperty("logger.async.deferParameterFormatting")));
+        }
+
+        if (props.containsKey("logger.clock.coarse")) {
+            config.withCoarseClock(Boolean.parseBoolean(props.getProperty("logger.clock.coarse")));
+        }
+
+        if (props.containsKey("logger.sink.isolated")
+                && Boolean.parseBoolean(props.getProperty("logger.sink.isolated"))) {
+            config.withSinkIsolation(
+                    Integer.parseInt(props.getProperty("logger.sink.queueSize", "1024")),
+                    AsyncOverflowPolicy.valueOf(
+                            props.getProperty("logger.sink.overflow", "BLOCK").trim().toUpperCase(Locale.ROOT)),
+                    Boolean.parseBoolean(props.getProperty("logger.sink.virtualThreads", "false")));
+        }
+
+        // Per-logger levels, e.g. logger.level.app.db=WARN
+        for (String key : props.stringPropertyNames()) {
+            if (key.startsWith("logger.level.")) {
+                config.withLoggerLevel(key.substring("logger.level.".length()),
+                        Level.valueOf(props.getProperty(key)));
+            }
+        }
+
+        // Per-logger rate limits, e.g. logger.rateLimit.app.db=WARN:10:50,INFO:100
+        // (level, events per second, and optionally the burst, which defaults to one second's worth)
+        for (String key : props.stringPropertyNames()) {
+            if (key.startsWith("logger.rateLimit.")) {
+                String name = key.substring("logger.rateLimit.".length());
+                for (String limit : props.getProperty(key).split(",")) {
+                    String[] parts = limit.trim().split(":");
+                    if (parts.length < 2 || parts.length > 3) {
+                        throw new IllegalArgumentException("Invalid rate limit for " + name + ": " + limit);
+                    }
+                    double eventsPerSecond = Double.parseDouble(parts[1].trim());
+                    int burst = parts.length == 3 ? Integer.parseInt(parts[2].trim())
+                            : (int) Math.max(1, Math.ceil(eventsPerSecond));
+                    config.withRateLimit(name, Level.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)),
+                            eventsPerSecond, burst);
+                }
+            }
+        }
+
         return config;
     }
 
@@ -99,7 +240,11 @@ public class LoggerConfig {
         return this;
     }
 
-    public LoggerConfig withSink(LogMessageSink sink) {
+    /**
+     * Add a custom sink: either a {@link org.example.logger.sink.LogMessageSink} receiving
+     * formatted lines or a {@link org.example.logger.sink.LogEventSink} receiving structured events.
+     */
+    public LoggerConfig withSink(AbstractLogSink sink) {
         this.sinks.add(sink);
         return this;
     }
@@ -115,6 +260,23 @@ public class LoggerConfig {
         return this;
     }
 
+    /**
+     * Write console output with {@link ConsoleSink} instead of {@link StdOutSink}: encoded bytes
+     * straight to the standard output file descriptor, one write per line or async batch.
+     *
+     * @param stderrLevel lines at or above this level go to standard error, or null for none
+     * @param prefix      text written before every line, or empty for none
+     */
+    public LoggerConfig withBufferedConsole(Level stderrLevel, String prefix) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("Prefix cannot be null; use \"\" for none");
+        }
+        this.bufferedConsole = true;
+        this.consoleStderrLevel = stderrLevel;
+        this.consolePrefix = prefix;
+        return this;
+    }
+
     public LoggerConfig withFile(boolean enabled, String filePath) {
         this.includeFile = enabled;
         this.logFilePath = filePath;
@@ -137,6 +299,90 @@ public class LoggerConfig {
         return this;
     }
 
+    /**
+     * Configure file output, choosing the file sink implementation
+     */
+    public LoggerConfig withFile(boolean enabled, String filePath, Level level, boolean append, boolean immediateFlush,
+                                 FileSinkType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("File sink type cannot be null");
+        }
+        this.fileSinkType = type;
+        return withFile(enabled, filePath, level, append, immediateFlush);
+    }
+
+    // A byte count with an optional KB, MB or GB suffix
+    private static long parseSize(String value) {
+        String size = value.trim().toUpperCase(Locale.ROOT);
+        long multiplier = 1;
+        if (size.endsWith("KB")) {
+            multiplier = 1024;
+        } else if (size.endsWith("MB")) {
+            multiplier = 1024 * 1024;
+        } else if (size.endsWith("GB")) {
+            multiplier = 1024 * 1024 * 1024;
+        }
+        if (multiplier > 1) {
+            size = size.substring(0, size.length() - 2).trim();
+        }
+        return Long.parseLong(size) * multiplier;
+    }
+
+    /**
+     * Roll the log file by size and/or time (see {@link RollingFileSink}), instead of writing
+     * to one ever-growing file. The live file is always appended to, so {@link #build()} rejects
+     * rolling combined with a file type other than STREAM or with append=false.
+     *
+     * @param maxFileSize roll once the file reaches this many bytes; 0 for no size limit
+     * @param interval    roll at the start of each period of this length; null for no time-based rolling
+     * @param maxHistory  rolled files to keep; 0 to keep all
+     * @param compress    whether to gzip rolled files in the background
+     */
+    public LoggerConfig withFileRolling(long maxFileSize, Duration interval, int maxHistory, boolean compress) {
+        if (maxFileSize <= 0 && interval == null) {
+            throw new IllegalArgumentException("Rolling needs a size limit or an interval");
+        }
+        this.rollFile = true;
+        this.rollMaxFileSize = maxFileSize;
+        this.rollInterval = interval;
+        this.rollMaxHistory = maxHistory;
+        this.rollCompress = compress;
+        return this;
+    }
+
+    /**
+     * Set how much of the file {@link FileSinkType#MAPPED} maps at a time
+     */
+    public LoggerConfig withMappedRegionSize(int regionSize) {
+        this.mappedRegionSize = regionSize;
+        return this;
+    }
+
+    /**
+     * Set the {@link Deflater} level (-1 for the default, 1 to 9) and the uncompressed
+     * block size in characters for {@link FileSinkType#COMPRESSED}
+     */
+    public LoggerConfig withFileCompression(int level, int blockSize) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between -1 and 9");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.compressionLevel = level;
+        this.compressionBlockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * Bound stack traces in log lines: frames per throwable, causes below the top one, and how
+     * long a repeated trace is printed as a reference to its first occurrence. 0 means no limit.
+     */
+    public LoggerConfig withThrowableRendering(int maxFrames, int maxCauses, long dedupWindowMillis) {
+        this.throwableRenderer = new ThrowableRenderer(maxFrames, maxCauses, dedupWindowMillis);
+        return this;
+    }
+
     public LoggerConfig withAsyncBufferSize(int size) {
         this.asyncBufferSize = size;
         return this;
@@ -147,22 +393,208 @@ public class LoggerConfig {
         return this;
     }
 
+    /**
+     * Choose what happens when the async queue is full. Defaults to {@link AsyncOverflowPolicy#BLOCK}.
+     */
+    public LoggerConfig withAsyncOverflowPolicy(AsyncOverflowPolicy policy) {
+        return withAsyncOverflowPolicy(policy, asyncDropBelowLevel);
+    }
+
+    /**
+     * Choose what happens when the async queue is full, with the level below which
+     * {@link AsyncOverflowPolicy#DROP_BELOW_LEVEL} discards events. ERROR and FATAL are never dropped.
+     */
+    public LoggerConfig withAsyncOverflowPolicy(AsyncOverflowPolicy policy, Level dropBelowLevel) {
+        if (policy == null || dropBelowLevel == null) {
+            throw new IllegalArgumentException("Overflow policy and level cannot be null");
+        }
+        this.asyncOverflowPolicy = policy;
+        this.asyncDropBelowLevel = dropBelowLevel;
+        return this;
+    }
+
+    /**
+     * In async mode, substitute {} parameters on the worker thread instead of the caller.
+     * Arguments are then rendered later, so they must not be mutated after the log call.
+     */
+    public LoggerConfig withDeferredParameterFormatting(boolean enabled) {
+        this.deferParameterFormatting = enabled;
+        return this;
+    }
+
+    /**
+     * Use a background-updated clock with millisecond resolution for timestamps,
+     * so logging threads never read the system clock themselves.
+     */
+    public LoggerConfig withCoarseClock(boolean enabled) {
+        this.coarseClock = enabled;
+        return this;
+    }
+
+    /**
+     * Give every string sink its own bounded queue and consumer thread (see {@link AsyncSink}),
+     * so a slow sink cannot delay the others.
+     *
+     * @param queueSize      capacity of each sink's queue
+     * @param overflowPolicy what happens when a sink's queue is full
+     * @param virtualThreads run the consumers on virtual threads when available (Java 21+)
+     */
+    public LoggerConfig withSinkIsolation(int queueSize, AsyncOverflowPolicy overflowPolicy, boolean virtualThreads) {
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("Overflow policy cannot be null");
+        }
+        this.isolateSinks = true;
+        this.sinkQueueSize = queueSize;
+        this.sinkOverflowPolicy = overflowPolicy;
+        this.sinkVirtualThreads = virtualThreads;
+        return this;
+    }
+
+    /**
+     * Choose when file sinks are forced to the storage device. Defaults to {@link DurabilityMode#NONE}.
+     *
+     * @param mode           when to sync
+     * @param intervalMillis for {@link DurabilityMode#PERIODIC}, how often to sync
+     */
+    public LoggerConfig withDurability(DurabilityMode mode, long intervalMillis) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Durability mode cannot be null");
+        }
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Sync interval must be positive");
+        }
+        this.durability = mode;
+        this.syncIntervalMillis = intervalMillis;
+        return this;
+    }
+
+    /**
+     * Set the level of a named logger. Loggers below it in the dot-separated hierarchy
+     * inherit the level unless they have their own.
+     */
+    public LoggerConfig withLoggerLevel(String name, Level level) {
+        if (name == null || level == null) {
+            throw new IllegalArgumentException("Logger name and level cannot be null");
+        }
+        loggerLevels.put(name, level);
+        return this;
+    }
+
+    /**
+     * Limit how often a named logger, and those below it without their own limit, log at a
+     * level. Each message pattern or supplier call site gets its own token bucket, and
+     * suppressed messages are summarized once the bucket admits again.
+     */
+    public LoggerConfig withRateLimit(String name, Level level, double eventsPerSecond, int burst) {
+        if (name == null || level == null) {
+            throw new IllegalArgumentException("Logger name and level cannot be null");
+        }
+        rateLimits.add(new RateLimitSetting(name, level, new RateLimiter.Policy(eventsPerSecond, burst)));
+        return this;
+    }
+
+    /**
+     * Build the configuration and return the registry of its named loggers
+     */
+    public LoggerFactory buildFactory() throws IOException {
+        return build().getLoggerFactory();
+    }
+
+    private AbstractLogSink createFileSink() throws IOException {
+        if (rollFile) {
+            return new RollingFileSink(fileLevel, logFilePath, immediateFlush, rollMaxFileSize, rollInterval,
+                    rollMaxHistory, rollCompress);
+        }
+        // Sinks that render throwables themselves get their own renderer, so a trace the line
+        // sinks printed in full isn't written to them as a reference only
+        switch (fileSinkType) {
+            case CHANNEL:
+                return new ChannelFileSink(fileLevel, logFilePath, appendToFile, immediateFlush);
+            case MAPPED:
+                return new MappedFileSink(fileLevel, logFilePath, appendToFile, mappedRegionSize);
+            case BINARY:
+                return new BinaryLogSink(fileLevel, logFilePath, appendToFile, immediateFlush,
+                        throwableRenderer.copy());
+            case COMPRESSED:
+                return new CompressedFileSink(fileLevel, logFilePath, messageFormat, dateFormat, appendToFile,
+                        compressionLevel, compressionBlockSize, throwableRenderer.copy());
+            case STREAM:
+            default:
+                return new FileSink(fileLevel, logFilePath, appendToFile, immediateFlush);
+        }
+    }
+
     /**
      * Build and configure the logger based on this configuration.
      */
     public Logger build() throws IOException {
-        // Add configured sinks
+        if (includeFile && rollFile && (fileSinkType != FileSinkType.STREAM || !appendToFile)) {
+            // RollingFileSink always appends to its own channel-based file
+            throw new IllegalArgumentException("File rolling needs the STREAM file type and append=true, not "
+                    + fileSinkType + " with append=" + appendToFile);
+        }
+        // Add configured sinks; those created here are closed when the logger shuts down
+        List<AbstractLogSink> created = new ArrayList<>();
         if (includeConsole) {
-            sinks.add(new StdOutSink(consoleLevel));
+            created.add(bufferedConsole
+                    ? new ConsoleSink(consoleLevel, consoleStderrLevel, consolePrefix, true)
+                    : new StdOutSink(consoleLevel));
         }
 
         if (includeFile) {
-            sinks.add(new FileSink(fileLevel, logFilePath, appendToFile, immediateFlush));
+            created.add(createFileSink());
         }
+        sinks.addAll(created);
 
-        return new Logger(loggerName, dateFormat, messageFormat,
+        if (isolateSinks) {
+            sinks.replaceAll(sink -> {
+                if (!(sink instanceof LogMessageSink) || sink instanceof AsyncSink) {
+                    return sink;
+                }
+                AsyncSink isolated = new AsyncSink((LogMessageSink) sink, sinkQueueSize, sinkOverflowPolicy,
+                        asyncDropBelowLevel, sinkVirtualThreads);
+                if (created.contains(sink)) {
+                    created.add(isolated);
+                }
+                return isolated;
+            });
+        }
+
+        Logger rootLogger = new Logger(loggerName, dateFormat, messageFormat,
                 asyncMode,
                 asyncBufferSize,
-                sinks.toArray(new LogMessageSink[0]));
+                coarseClock ? CoarseClock.shared() : LogClock.SYSTEM,
+                deferParameterFormatting,
+                asyncOverflowPolicy,
+                asyncDropBelowLevel,
+                durability,
+                syncIntervalMillis,
+                throwableRenderer,
+                sinks.toArray(new AbstractLogSink[0]));
+        List<Closeable> owned = new ArrayList<>();
+        for (AbstractLogSink sink : created) {
+            if (sink instanceof Closeable) {
+                owned.add((Closeable) sink);
+            }
+        }
+        rootLogger.closeOnShutdown(owned);
+        loggerLevels.forEach((name, level) -> rootLogger.getLogger(name).setLevel(level));
+        for (RateLimitSetting limit : rateLimits) {
+            rootLogger.getLogger(limit.name).setRateLimit(limit.level, limit.policy.eventsPerSecond,
+                    limit.policy.burst);
+        }
+        return rootLogger;
+    }
+
+    private static final class RateLimitSetting {
+        final String name;
+        final Level level;
+        final RateLimiter.Policy policy;
+
+        RateLimitSetting(String name, Level level, RateLimiter.Policy policy) {
+            this.name = name;
+            this.level = level;
+            this.policy = policy;
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,206 @@
+package org.example.logger;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registry of the named loggers that share a root logger's configuration.
+ * Loggers are created once per name and cached, so {@link #getLogger(String)} is a single
+ * map lookup after the first call.
+ *
+ * <p>Names form a dot-separated hierarchy: {@code "app.db"} is the parent of
+ * {@code "app.db.pool"}, and names without a matching parent hang off the root logger.
+ * A logger without its own level inherits the nearest ancestor's, and likewise for the
+ * rate limit of each level.
+ */
+public final class LoggerFactory {
+    private final Logger rootLogger;
+    private final ConcurrentMap<String, Logger> loggers = new ConcurrentHashMap<>();
+    // Guards logger creation and level changes, so no logger misses a level update
+    private final Object levelLock = new Object();
+    // Rate limits by logger name and level ordinal, guarded by levelLock
+    private final Map<String, RateLimiter.Policy[]> rateLimits = new HashMap<>();
+    // Logs pending suppression summaries once a second; started with the first rate limit, guarded by levelLock
+    private Thread summaryThread;
+    private volatile boolean stopped;
+
+    // Created by the root logger, which shares its dispatcher with every logger here
+    LoggerFactory(Logger rootLogger) {
+        this.rootLogger = rootLogger;
+        loggers.put(rootLogger.getName(), rootLogger);
+    }
+
+    /**
+     * @return the logger the configuration was built as
+     */
+    public Logger getRootLogger() {
+        return rootLogger;
+    }
+
+    /**
+     * Returns the logger with this name, creating it on first use.
+     *
+     * @param name the logger name, dot-separated for hierarchy
+     * @return the same instance for every call with this name
+     */
+    public Logger getLogger(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Logger name cannot be null");
+        }
+        Logger logger = loggers.get(name);
+        if (logger != null) {
+            return logger;
+        }
+        synchronized (levelLock) {
+            logger = loggers.get(name);
+            if (logger == null) {
+                logger = rootLogger.newChild(name);
+                logger.updateEffectiveLevel(inheritedLevel(name));
+                if (!rateLimits.isEmpty()) {
+                    logger.updateRateLimiter(resolveRateLimiter(logger));
+                }
+                loggers.put(name, logger);
+            }
+            return logger;
+        }
+    }
+
+    /**
+     * @param type the class to name the logger after
+     * @return the logger named after the class's fully qualified name
+     */
+    public Logger getLogger(Class<?> type) {
+        return getLogger(type.getName());
+    }
+
+    /**
+     * Delivers everything logged so far and flushes the sinks
+     */
+    public void flush() {
+        rootLogger.flush();
+    }
+
+    /**
+     * Stops the shared async worker and flushes the sinks
+     */
+    public void shutdown() {
+        rootLogger.shutdown();
+    }
+
+    // Called by Logger.setLevel; recomputes the effective level of every logger, since any may inherit it
+    void onLevelChanged(Logger changed, Level level) {
+        synchronized (levelLock) {
+            changed.storeLevel(level);
+            for (Logger logger : loggers.values()) {
+                Level own = logger.getLevel();
+                logger.updateEffectiveLevel(own != null ? own : inheritedLevel(logger.getName()));
+            }
+        }
+    }
+
+    // Called by Logger.setRateLimit; a null policy removes the logger's own limit for the level
+    void onRateLimitChanged(Logger changed, Level level, RateLimiter.Policy policy) {
+        synchronized (levelLock) {
+            RateLimiter.Policy[] own = rateLimits.computeIfAbsent(changed.getName(),
+                    name -> new RateLimiter.Policy[Level.values().length]);
+            own[level.ordinal()] = policy;
+            if (Arrays.stream(own).allMatch(p -> p == null)) {
+                rateLimits.remove(changed.getName());
+            }
+            for (Logger logger : loggers.values()) {
+                logger.updateRateLimiter(resolveRateLimiter(logger));
+            }
+            if (summaryThread == null && policy != null && !stopped) {
+                summaryThread = new Thread(this::runSummaries, "Logger-RateLimit-" + rootLogger.getName());
+                summaryThread.setDaemon(true);
+                summaryThread.start();
+            }
+        }
+    }
+
+    // Reports floods that stopped, which no admitted event would otherwise report
+    private void runSummaries() {
+        while (!stopped) {
+            LockSupport.parkNanos(this, RateLimiter.SUMMARY_INTERVAL_NANOS);
+            if (!stopped) {
+                reportSuppressed(false);
+            }
+        }
+    }
+
+    private void reportSuppressed(boolean force) {
+        long now = System.nanoTime();
+        for (Logger logger : loggers.values()) {
+            logger.reportSuppressed(now, force);
+        }
+    }
+
+    // Called by the dispatcher as shutdown starts: stops the timer and reports everything still pending
+    void onShutdown() {
+        stopped = true;
+        Thread thread;
+        synchronized (levelLock) {
+            thread = summaryThread;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        reportSuppressed(true);
+    }
+
+    // Per level, the limit set on the logger itself or its nearest ancestor, then the root.
+    // Keeps the current limiter, and its buckets, when nothing it uses changed.
+    private RateLimiter resolveRateLimiter(Logger logger) {
+        String name = logger.getName();
+        RateLimiter.Policy[] resolved = new RateLimiter.Policy[Level.values().length];
+        boolean any = false;
+        for (int i = 0; i < resolved.length; i++) {
+            resolved[i] = inheritedPolicy(name, i);
+            any |= resolved[i] != null;
+        }
+        RateLimiter current = logger.getRateLimiter();
+        if (!any) {
+            return null;
+        }
+        return current != null && Arrays.equals(current.getPolicies(), resolved) ? current : new RateLimiter(resolved);
+    }
+
+    private RateLimiter.Policy inheritedPolicy(String name, int levelOrdinal) {
+        for (String candidate = name; ; ) {
+            RateLimiter.Policy[] policies = rateLimits.get(candidate);
+            if (policies != null && policies[levelOrdinal] != null) {
+                return policies[levelOrdinal];
+            }
+            int dot = candidate.lastIndexOf('.');
+            if (dot <= 0) {
+                break;
+            }
+            candidate = candidate.substring(0, dot);
+        }
+        RateLimiter.Policy[] root = rateLimits.get(rootLogger.getName());
+        return root != null ? root[levelOrdinal] : null;
+    }
+
+    // The level set on the nearest ancestor of this name, or null if none has one
+    private Level inheritedLevel(String name) {
+        if (name.equals(rootLogger.getName())) {
+            return null;
+        }
+        for (int dot = name.lastIndexOf('.'); dot > 0; dot = name.lastIndexOf('.', dot - 1)) {
+            Logger ancestor = loggers.get(name.substring(0, dot));
+            if (ancestor != null && ancestor.getLevel() != null) {
+                return ancestor.getLevel();
+            }
+        }
+        return rootLogger.getLevel();
+    }
+}
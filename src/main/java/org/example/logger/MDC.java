@@ -1,15 +1,25 @@
 package org.example.logger;
 
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Mapped Diagnostic Context for storing thread-local contextual data for logging.
+ * <p>
+ * Each thread holds an immutable context; {@link #put} and {@link #remove} replace it with a
+ * new version. {@link #getCopyOfContextMap()} therefore returns the current version itself,
+ * which later changes never affect, so capturing the context for a log event costs nothing.
+ * <p>
+ * The context does not follow work to other threads by itself. Wrap tasks or executors with
+ * {@link #wrap(Runnable)} and its overloads to run them in the context of the thread that
+ * submitted them, or bind values for the duration of a call with {@link #where(String, String)}.
+ * Either way the thread's previous context is restored afterwards.
  */
 public class MDC {
-    private static final ThreadLocal<Map<String, String>> contextMap =
-            ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<ContextMap> contextMap =
+            ThreadLocal.withInitial(() -> ContextMap.EMPTY);
 
     /**
      * Store a value in the current thread's context map.
@@ -18,7 +28,12 @@ public class MDC {
         if (key == null) {
             throw new IllegalArgumentException("key cannot be null");
         }
-        contextMap.get().put(key, value);
+        contextMap.set(contextMap.get().with(key, value));
+    }
+
+    // Registered-key lookup for MDCKey.get()
+    static String getRegistered(MDCKey key) {
+        return contextMap.get().get(key);
     }
 
     /**
@@ -38,31 +53,181 @@ public class MDC {
         if (key == null) {
             throw new IllegalArgumentException("key cannot be null");
         }
-        contextMap.get().remove(key);
+        contextMap.set(contextMap.get().without(key));
     }
 
     /**
      * Clear all entries in the current thread's context map.
      */
     public static void clear() {
-        contextMap.get().clear();
+        contextMap.set(ContextMap.EMPTY);
     }
 
     /**
-     * Get an immutable copy of the current thread's context map.
+     * Get an immutable snapshot of the current thread's context map. This is the context
+     * itself, not a copy; it is unaffected by later changes and safe to pass to other threads.
      */
     public static Map<String, String> getCopyOfContextMap() {
-        return Collections.unmodifiableMap(new HashMap<>(contextMap.get()));
+        return contextMap.get();
     }
 
     /**
      * Set the current thread's context map by copying values from the provided map.
+     * A snapshot from {@link #getCopyOfContextMap()} is reused without copying.
      */
     public static void setContextMap(Map<String, String> contextMap) {
         if (contextMap == null) {
             MDC.contextMap.remove();
         } else {
-            MDC.contextMap.set(new HashMap<>(contextMap));
+            MDC.contextMap.set(ContextMap.copyOf(contextMap));
+        }
+    }
+
+    /**
+     * Returns a task that runs with the context current at this call, then restores the running thread's own.
+     */
+    public static Runnable wrap(Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("task cannot be null");
+        }
+        ContextMap captured = contextMap.get();
+        return () -> {
+            ContextMap previous = contextMap.get();
+            contextMap.set(captured);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Returns a task that runs with the context current at this call, then restores the running thread's own.
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        if (task == null) {
+            throw new IllegalArgumentException("task cannot be null");
+        }
+        ContextMap captured = contextMap.get();
+        return () -> {
+            ContextMap previous = contextMap.get();
+            contextMap.set(captured);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Returns an executor that runs each task with the context of the thread that submitted it.
+     * Pass it to {@code CompletableFuture.supplyAsync(supplier, executor)} and the other async
+     * methods to carry the context through a future chain.
+     */
+    public static Executor wrap(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        return task -> executor.execute(wrap(task));
+    }
+
+    /**
+     * Returns an executor service that runs each task with the context of the thread that submitted it.
+     */
+    public static ExecutorService wrap(ExecutorService executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        return new ContextExecutorService(executor);
+    }
+
+    /**
+     * Starts a set of bindings that {@link Carrier#run(Runnable)} or {@link Carrier#call(Callable)}
+     * apply on top of the current context, for that call only.
+     * <pre>
+     * MDC.where("requestId", id).where("user", user).run(() -&gt; handle(request));
+     * </pre>
+     *
+     * @param key   the MDC key
+     * @param value the value, or null to hide the key during the call
+     */
+    public static Carrier where(String key, String value) {
+        return new Carrier(null, key, value);
+    }
+
+    // A thread left with no context keeps no entry, so idle pooled and virtual threads hold nothing
+    private static void restore(ContextMap previous) {
+        if (previous == ContextMap.EMPTY) {
+            contextMap.remove();
+        } else {
+            contextMap.set(previous);
+        }
+    }
+
+    /**
+     * MDC bindings that apply only while a task runs, in the style of {@code ScopedValue}.
+     * Immutable; each {@link #where(String, String)} returns a new carrier.
+     */
+    public static final class Carrier {
+        private final Carrier previous;
+        private final String key;
+        private final String value;
+
+        private Carrier(Carrier previous, String key, String value) {
+            if (key == null) {
+                throw new IllegalArgumentException("key cannot be null");
+            }
+            this.previous = previous;
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * @return a carrier with this binding added; later bindings of the same key win
+         */
+        public Carrier where(String key, String value) {
+            return new Carrier(this, key, value);
+        }
+
+        private ContextMap applyTo(ContextMap context) {
+            if (previous != null) {
+                context = previous.applyTo(context);
+            }
+            return value == null ? context.without(key) : context.with(key, value);
+        }
+
+        /**
+         * Runs the task with these bindings, then restores the thread's context.
+         */
+        public void run(Runnable task) {
+            if (task == null) {
+                throw new IllegalArgumentException("task cannot be null");
+            }
+            ContextMap saved = contextMap.get();
+            contextMap.set(applyTo(saved));
+            try {
+                task.run();
+            } finally {
+                restore(saved);
+            }
+        }
+
+        /**
+         * Calls the task with these bindings, then restores the thread's context.
+         */
+        public <T> T call(Callable<T> task) throws Exception {
+            if (task == null) {
+                throw new IllegalArgumentException("task cannot be null");
+            }
+            ContextMap saved = contextMap.get();
+            contextMap.set(applyTo(saved));
+            try {
+                return task.call();
+            } finally {
+                restore(saved);
+            }
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,87 @@
+package org.example.logger;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An MDC key registered once and given an integer slot. Contexts keep the values of
+ * registered keys in an array indexed by slot, so {@link #get()} and
+ * {@link LogEvent#getContextValue(MDCKey)} are an array read instead of a string lookup.
+ * Message templates register the keys their {MDC:key} placeholders reference when they
+ * are compiled.
+ * <p>
+ * Only the first {@value #MAX_SLOTS} keys get a slot; later ones, and keys that are never
+ * registered, are looked up by name.
+ */
+public final class MDCKey {
+    static final int MAX_SLOTS = 256;
+    private static final ConcurrentHashMap<String, MDCKey> KEYS = new ConcurrentHashMap<>();
+    // Written after the key is in KEYS, so a reader that sees a count also sees those keys
+    private static volatile int slotCount;
+
+    private final String name;
+    final int slot;
+
+    private MDCKey(String name, int slot) {
+        this.name = name;
+        this.slot = slot;
+    }
+
+    /**
+     * @param name the MDC key
+     * @return the registered key, registering it on first use
+     */
+    public static MDCKey of(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+        MDCKey key = KEYS.get(name);
+        return key != null ? key : register(name);
+    }
+
+    private static synchronized MDCKey register(String name) {
+        MDCKey key = KEYS.get(name);
+        if (key == null) {
+            int slot = slotCount < MAX_SLOTS ? slotCount : -1;
+            key = new MDCKey(name, slot);
+            KEYS.put(name, key);
+            if (slot >= 0) {
+                slotCount = slot + 1;
+            }
+        }
+        return key;
+    }
+
+    /**
+     * @return the slot of a registered key, or -1
+     */
+    static int slotOf(String name) {
+        MDCKey key = KEYS.get(name);
+        return key != null ? key.slot : -1;
+    }
+
+    /**
+     * @return how many slots have been handed out; every key with a lower slot is visible to {@link #slotOf}
+     */
+    static int slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * @return the current thread's MDC value for this key, or null
+     */
+    public String get() {
+        return MDC.getRegistered(this);
+    }
+
+    /**
+     * @return the key's name
+     */
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.logger;
+
+import org.example.logger.format.MessageTemplate;
+import org.example.logger.sink.LogMessageSink;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compatibility adapter for string-based {@link LogMessageSink}s. Renders each event
+ * with the logger's template and hands the line to every sink that accepts its level.
+ * The line is rendered at most once per event, and not at all if no sink wants it.
+ */
+final class MessageSinkAdapter {
+    private final MessageTemplate template;
+    private final LogMessageSink[] sinks;
+    // Worker only: lines collected for each sink during the current batch
+    private final PendingLines[] pending;
+
+    MessageSinkAdapter(MessageTemplate template, List<LogMessageSink> sinks) {
+        this.template = template;
+        this.sinks = sinks.toArray(new LogMessageSink[0]);
+        this.pending = new PendingLines[this.sinks.length];
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = new PendingLines();
+        }
+    }
+
+    void consume(LogEvent event) {
+        String line = null;
+        for (LogMessageSink sink : sinks) {
+            if (!SinkLevels.accepts(sink, event.getLevel())) {
+                continue;
+            }
+            if (line == null) {
+                line = template.format(event);
+            }
+            sink.consumeMessage(event.getLevel(), line);
+        }
+    }
+
+    // Worker only: renders the event and queues the line for each sink that accepts it
+    void add(LogEvent event) {
+        String line = null;
+        for (int i = 0; i < sinks.length; i++) {
+            if (!SinkLevels.accepts(sinks[i], event.getLevel())) {
+                continue;
+            }
+            if (line == null) {
+                line = template.format(event);
+            }
+            pending[i].add(event.getLevel(), line);
+        }
+    }
+
+    // Worker only: hands each sink the lines queued since the last call, then signals the end of the batch
+    void endBatch() {
+        for (int i = 0; i < sinks.length; i++) {
+            PendingLines lines = pending[i];
+            if (lines.count == 0) {
+                continue;
+            }
+            try {
+                sinks[i].consumeBatch(lines.levels, lines.messages, lines.count);
+                sinks[i].endOfBatch();
+            } catch (RuntimeException e) {
+                System.err.println("Failed to deliver log batch: " + e);
+            } finally {
+                lines.clear();
+            }
+        }
+    }
+
+    private static final class PendingLines {
+        Level[] levels = new Level[16];
+        String[] messages = new String[16];
+        int count;
+
+        void add(Level level, String message) {
+            if (count == messages.length) {
+                levels = Arrays.copyOf(levels, count * 2);
+                messages = Arrays.copyOf(messages, count * 2);
+            }
+            levels[count] = level;
+            messages[count] = message;
+            count++;
+        }
+
+        void clear() {
+            Arrays.fill(messages, 0, count, null);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.logger;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * One logger's rate limits: a token bucket per level and message key, where the key is the
+ * message pattern, or the supplier's class for supplier calls (one class per call site).
+ * <p>
+ * Admitting an event is a map lookup and a compare-and-set, with no lock. A bucket that
+ * suppressed events reports them before the next event it admits, or from the factory's
+ * once-a-second timer if no event comes, at most once a second, and finally at shutdown.
+ */
+final class RateLimiter {
+    private static final Level[] LEVELS = Level.values();
+    // Beyond this many keys per level, e.g. messages built by concatenation, idle buckets are evicted
+    private static final int MAX_KEYS = 4096;
+    // While every bucket is busy, new keys share one bucket, and eviction is retried at most this often
+    private static final Object OVERFLOW_KEY = new Object();
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final long SUMMARY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Policy[] policies;
+    // Indexed by level ordinal; null for levels without a limit
+    private final LevelBuckets[] buckets;
+
+    RateLimiter(Policy[] policies) {
+        this.policies = policies;
+        this.buckets = new LevelBuckets[LEVELS.length];
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (policies[i] != null) {
+                buckets[i] = new LevelBuckets();
+            }
+        }
+    }
+
+    Policy[] getPolicies() {
+        return policies;
+    }
+
+    /**
+     * @return the bucket for this level and key, or null if the level is not limited
+     */
+    Bucket bucket(Level level, Object key) {
+        LevelBuckets levelBuckets = buckets[level.ordinal()];
+        if (levelBuckets == null) {
+            return null;
+        }
+        Bucket bucket = levelBuckets.map.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        long now = System.nanoTime();
+        if (levelBuckets.map.size() >= MAX_KEYS && !levelBuckets.evictIdle(now)) {
+            key = OVERFLOW_KEY;
+        }
+        Policy policy = policies[level.ordinal()];
+        return levelBuckets.map.computeIfAbsent(key, k -> new Bucket(policy, now));
+    }
+
+    /**
+     * @return the number of buckets for this level
+     */
+    int bucketCount(Level level) {
+        LevelBuckets levelBuckets = buckets[level.ordinal()];
+        return levelBuckets == null ? 0 : levelBuckets.map.size();
+    }
+
+    /**
+     * Passes each bucket's pending summary to the consumer, with the bucket's level.
+     *
+     * @param force report even if the bucket reported less than a second ago, as at shutdown
+     */
+    void takeSummaries(long nowNanos, boolean force, BiConsumer<Level, String> consumer) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (buckets[i] == null) {
+                continue;
+            }
+            Level level = LEVELS[i];
+            buckets[i].map.forEach((key, bucket) -> {
+                String summary = bucket.takeSummary(nowNanos, key, force);
+                if (summary != null) {
+                    consumer.accept(level, summary);
+                }
+            });
+        }
+    }
+
+    private static final class LevelBuckets {
+        final ConcurrentMap<Object, Bucket> map = new ConcurrentHashMap<>();
+        final AtomicLong nextEviction = new AtomicLong(System.nanoTime());
+
+        // Drops full buckets with nothing left to report, which behave exactly like new ones.
+        // Returns false if no room was made, or another eviction ran too recently.
+        boolean evictIdle(long nowNanos) {
+            long next = nextEviction.get();
+            if (nowNanos - next < 0 || !nextEviction.compareAndSet(next, nowNanos + EVICTION_INTERVAL_NANOS)) {
+                return false;
+            }
+            map.values().removeIf(bucket -> bucket.isIdle(nowNanos));
+            return map.size() < MAX_KEYS;
+        }
+    }
+
+    /**
+     * A rate limit for one level: events per second, and how many may come at once.
+     */
+    static final class Policy {
+        final double eventsPerSecond;
+        final int burst;
+
+        Policy(double eventsPerSecond, int burst) {
+            if (!(eventsPerSecond > 0) || burst < 1) {
+                throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least 1");
+            }
+            this.eventsPerSecond = eventsPerSecond;
+            this.burst = burst;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Policy)) {
+                return false;
+            }
+            Policy other = (Policy) o;
+            return Double.compare(eventsPerSecond, other.eventsPerSecond) == 0 && burst == other.burst;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Double.hashCode(eventsPerSecond) + burst;
+        }
+    }
+
+    /**
+     * A token bucket kept as the time it will next be full (the generic cell rate algorithm),
+     * so taking a token is a single compare-and-set.
+     */
+    static final class Bucket {
+        private final long intervalNanos;
+        private final long capacityNanos;
+        private final AtomicLong fullAt;
+        private final AtomicLong suppressed = new AtomicLong();
+        private volatile long suppressedSince;
+        private final AtomicLong lastSummaryNanos;
+
+        Bucket(Policy policy, long nowNanos) {
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / policy.eventsPerSecond));
+            this.capacityNanos = intervalNanos * policy.burst;
+            this.fullAt = new AtomicLong(nowNanos);
+            this.lastSummaryNanos = new AtomicLong(nowNanos - SUMMARY_INTERVAL_NANOS);
+        }
+
+        /**
+         * @return true if the event may be logged; otherwise it is counted as suppressed
+         */
+        boolean tryAcquire(long nowNanos) {
+            while (true) {
+                long current = fullAt.get();
+                long start = current - nowNanos > 0 ? current : nowNanos;
+                long next = start + intervalNanos;
+                if (next - nowNanos > capacityNanos) {
+                    if (suppressed.getAndIncrement() == 0) {
+                        suppressedSince = nowNanos;
+                    }
+                    return false;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        // Full again and nothing suppressed since the last summary
+        boolean isIdle(long nowNanos) {
+            return suppressed.get() == 0 && fullAt.get() - nowNanos <= 0;
+        }
+
+        /**
+         * @return the summary line to log before an admitted event, or null if none is due
+         */
+        String takeSummary(long nowNanos, Object key) {
+            return takeSummary(nowNanos, key, false);
+        }
+
+        String takeSummary(long nowNanos, Object key, boolean force) {
+            if (suppressed.get() == 0) {
+                return null;
+            }
+            if (force) {
+                lastSummaryNanos.set(nowNanos);
+            } else {
+                long last = lastSummaryNanos.get();
+                if (nowNanos - last < SUMMARY_INTERVAL_NANOS || !lastSummaryNanos.compareAndSet(last, nowNanos)) {
+                    return null;
+                }
+            }
+            long since = suppressedSince;
+            long count = suppressed.getAndSet(0);
+            if (count == 0) {
+                return null;
+            }
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nowNanos - since + 999_999_999L));
+            return "Suppressed " + count + " similar " + (count == 1 ? "message" : "messages")
+                    + " in the last " + seconds + (seconds == 1 ? " second: " : " seconds: ") + describe(key);
+        }
+
+        private static String describe(Object key) {
+            if (key == OVERFLOW_KEY) {
+                return "(new messages while the rate limiter's key limit was reached)";
+            }
+            return key instanceof Class ? "call site " + ((Class<?>) key).getName() : key.toString();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.logger;
+
+import org.example.logger.sink.AbstractLogSink;
+
+import java.util.List;
+
+/**
+ * Tracks the lowest level accepted by any of a set of sinks, so a logger can reject
+ * messages before doing any formatting work. Loggers sharing the same sinks share one
+ * instance, which follows sink level changes through their change listeners.
+ */
+final class SinkLevels {
+    // Used when there are no sinks at all: nothing is enabled
+    private static final int NOTHING_ENABLED = Integer.MAX_VALUE;
+
+    private final AbstractLogSink[] sinks;
+    private volatile int minimumLevel;
+
+    SinkLevels(List<AbstractLogSink> sinks) {
+        this.sinks = sinks.toArray(new AbstractLogSink[0]);
+        Runnable listener = this::recompute;
+        for (AbstractLogSink sink : this.sinks) {
+            sink.addLevelChangeListener(listener);
+        }
+        recompute();
+    }
+
+    private void recompute() {
+        int minimum = NOTHING_ENABLED;
+        for (AbstractLogSink sink : sinks) {
+            Level sinkLevel = sink.getSinkLevel();
+            // A sink without a level accepts everything
+            int level = sinkLevel == null ? Level.DEBUG.getLevelInt() : sinkLevel.getLevelInt();
+            minimum = Math.min(minimum, level);
+        }
+        minimumLevel = minimum;
+    }
+
+    /**
+     * @return true if the sink accepts messages at the given level; a sink without a level accepts everything
+     */
+    static boolean accepts(AbstractLogSink sink, Level level) {
+        Level sinkLevel = sink.getSinkLevel();
+        return sinkLevel == null || level.getLevelInt() >= sinkLevel.getLevelInt();
+    }
+
+    /**
+     * @return true if at least one sink accepts messages at the given level
+     */
+    boolean isEnabled(Level level) {
+        return level.getLevelInt() >= minimumLevel;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.logger.async;
+
+/**
+ * What a logging call does when the async queue is full.
+ */
+public enum AsyncOverflowPolicy {
+    /**
+     * Wait until the worker frees a slot. Nothing is lost, but callers stall behind slow sinks.
+     */
+    BLOCK,
+    /**
+     * Discard the new event and return immediately.
+     */
+    DROP_NEW,
+    /**
+     * Discard the oldest queued event to make room for the new one. The caller waits only
+     * until the worker has skipped the old event, which may include finishing its current write.
+     */
+    DROP_OLDEST,
+    /**
+     * Discard new events below a configured level and wait for the rest. ERROR and FATAL
+     * events are never discarded.
+     */
+    DROP_BELOW_LEVEL,
+    /**
+     * Write the new event on the calling thread, bypassing the queue. The event may then
+     * appear ahead of older queued events.
+     */
+    SYNCHRONOUS,
+}
@@ -0,0 +1,153 @@
+package org.example.logger.async;
+
+import org.example.logger.Level;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Applies an {@link AsyncOverflowPolicy} to a {@link RingBuffer} with a single consumer thread,
+ * and counts the events it drops per level.
+ * <p>
+ * Producers call {@link #claim}. The consumer calls {@link #takeOldestDropRequest()} before
+ * delivering each event and skips the event if it returns true, and calls
+ * {@link #takeDropSummary()} from time to time to report drops.
+ */
+public final class OverflowHandler {
+    /**
+     * Returned by {@link #claim} when the policy discarded the new event.
+     */
+    public static final long DROPPED = -2L;
+    /**
+     * Returned by {@link #claim} when the caller should deliver the event itself.
+     */
+    public static final long DELIVER_ON_CALLER = RingBuffer.FULL;
+
+    // How long a producer backs off while the ring buffer is full
+    private static final long FULL_BUFFER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AsyncOverflowPolicy policy;
+    private final Level dropBelowLevel;
+    // Dropped event counts indexed by level, and what the consumer last reported
+    private final AtomicLongArray droppedByLevel = new AtomicLongArray(Level.values().length);
+    private final long[] reportedDropsByLevel = new long[Level.values().length];
+    // DROP_OLDEST: producers ask the consumer to discard this many queued events
+    private final AtomicInteger pendingOldestDrops = new AtomicInteger();
+
+    /**
+     * @param policy         what to do when the buffer is full
+     * @param dropBelowLevel for {@link AsyncOverflowPolicy#DROP_BELOW_LEVEL}, the lowest level kept;
+     *                       capped at ERROR so ERROR and FATAL are never dropped
+     */
+    public OverflowHandler(AsyncOverflowPolicy policy, Level dropBelowLevel) {
+        if (policy == null || dropBelowLevel == null) {
+            throw new IllegalArgumentException("Overflow policy and level cannot be null");
+        }
+        this.policy = policy;
+        this.dropBelowLevel = dropBelowLevel.getLevelInt() > Level.ERROR.getLevelInt() ? Level.ERROR : dropBelowLevel;
+    }
+
+    public AsyncOverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Claims a slot, applying the policy while the buffer is full.
+     *
+     * @param buffer   the buffer to claim from
+     * @param level    the level of the event being added
+     * @param running  false once the consumer is stopping
+     * @param consumer the consumer thread, woken while waiting for space
+     * @return the claimed sequence, {@link #DROPPED}, or {@link #DELIVER_ON_CALLER} for the
+     * SYNCHRONOUS policy or once the consumer has stopped
+     */
+    public long claim(RingBuffer<?> buffer, Level level, BooleanSupplier running, Thread consumer) {
+        boolean requestedOldestDrop = false;
+        while (running.getAsBoolean()) {
+            long sequence = buffer.tryClaim();
+            if (sequence != RingBuffer.FULL) {
+                if (requestedOldestDrop) {
+                    // Got a slot anyway; withdraw the request if the consumer hasn't acted on it
+                    takeOldestDropRequest();
+                }
+                return sequence;
+            }
+
+            switch (policy) {
+                case DROP_NEW:
+                    recordDrop(level);
+                    return DROPPED;
+                case DROP_BELOW_LEVEL:
+                    if (level.getLevelInt() < dropBelowLevel.getLevelInt()) {
+                        recordDrop(level);
+                        return DROPPED;
+                    }
+                    break;
+                case SYNCHRONOUS:
+                    return DELIVER_ON_CALLER;
+                case DROP_OLDEST:
+                    if (!requestedOldestDrop) {
+                        pendingOldestDrops.incrementAndGet();
+                        requestedOldestDrop = true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(this, FULL_BUFFER_PARK_NANOS);
+        }
+        return DELIVER_ON_CALLER;
+    }
+
+    /**
+     * Consumer only: call before delivering each event.
+     *
+     * @return true if a producer asked for the oldest queued event to be dropped; the
+     * consumer should then skip the event and pass its level to {@link #recordDrop(Level)}
+     */
+    public boolean takeOldestDropRequest() {
+        int pending;
+        while ((pending = pendingOldestDrops.get()) > 0) {
+            if (pendingOldestDrops.compareAndSet(pending, pending - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void recordDrop(Level level) {
+        droppedByLevel.incrementAndGet(level.ordinal());
+    }
+
+    /**
+     * @param level the level to look up
+     * @return the number of events at this level dropped so far
+     */
+    public long getDroppedCount(Level level) {
+        return droppedByLevel.get(level.ordinal());
+    }
+
+    /**
+     * Consumer only: describes the events dropped since the previous call.
+     *
+     * @return e.g. {@code "dropped 3 events (DEBUG=2, INFO=1)"}, or null if nothing was dropped
+     */
+    public String takeDropSummary() {
+        long total = 0;
+        StringBuilder perLevel = new StringBuilder();
+        for (Level level : Level.values()) {
+            long dropped = droppedByLevel.get(level.ordinal());
+            long delta = dropped - reportedDropsByLevel[level.ordinal()];
+            reportedDropsByLevel[level.ordinal()] = dropped;
+            if (delta > 0) {
+                total += delta;
+                perLevel.append(perLevel.length() == 0 ? "" : ", ").append(level.name()).append('=').append(delta);
+            }
+        }
+        return total == 0 ? null : "dropped " + total + " events (" + perLevel + ")";
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.logger.async;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A bounded multi-producer, single-consumer ring buffer of preallocated, reused slots.
+ * <p>
+ * A producer claims the next sequence with a CAS ({@link #tryClaim()}), fills the slot
+ * returned by {@link #get(long)} and then makes it visible with {@link #publish(long)}.
+ * The single consumer reads published slots in sequence order and hands them back with
+ * {@link #release(long)}. Nothing is allocated after construction, and claiming never
+ * takes a lock: it fails immediately when all slots are in use.
+ *
+ * @param <T> the slot type
+ */
+public final class RingBuffer<T> {
+    /**
+     * Returned by {@link #tryClaim()} when the buffer is full.
+     */
+    public static final long FULL = -1L;
+
+    private final Object[] slots;
+    private final int mask;
+    private final int indexShift;
+    // For each slot, the lap number of the sequence last published into it
+    private final AtomicIntegerArray publishedLaps;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicLong consumed = new AtomicLong(-1);
+
+    /**
+     * Creates a ring buffer and fills every slot from the factory.
+     *
+     * @param requestedCapacity minimum number of slots; rounded up to a power of two
+     * @param slotFactory       creates the preallocated slots
+     */
+    public RingBuffer(int requestedCapacity, Supplier<T> slotFactory) {
+        int capacity = capacityFor(requestedCapacity);
+        this.slots = new Object[capacity];
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.publishedLaps = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = slotFactory.get();
+            publishedLaps.set(i, -1);
+        }
+    }
+
+    /**
+     * @param requestedCapacity the requested number of slots
+     * @return the smallest power of two that is at least the requested capacity, and at least 2
+     */
+    public static int capacityFor(int requestedCapacity) {
+        if (requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity too large: " + requestedCapacity);
+        }
+        int capacity = 2;
+        while (capacity < requestedCapacity) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Claims the next free slot.
+     *
+     * @return the claimed sequence, or {@link #FULL} if every slot is in use
+     */
+    public long tryClaim() {
+        while (true) {
+            long current = claimed.get();
+            long next = current + 1;
+            if (next - slots.length > consumed.get()) {
+                return FULL;
+            }
+            if (claimed.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * @param sequence a claimed or published sequence
+     * @return the slot for that sequence
+     */
+    @SuppressWarnings("unchecked")
+    public T get(long sequence) {
+        return (T) slots[(int) sequence & mask];
+    }
+
+    /**
+     * Makes a claimed slot visible to the consumer.
+     */
+    public void publish(long sequence) {
+        publishedLaps.set((int) sequence & mask, (int) (sequence >>> indexShift));
+    }
+
+    /**
+     * @return true if the slot for this sequence has been published and not yet reused
+     */
+    public boolean isPublished(long sequence) {
+        return publishedLaps.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    /**
+     * Consumer only: returns every slot up to and including the given sequence to the producers.
+     */
+    public void release(long sequence) {
+        consumed.set(sequence);
+    }
+
+    /**
+     * @return the highest sequence claimed by any producer, or -1
+     */
+    public long getClaimedSequence() {
+        return claimed.get();
+    }
+
+    /**
+     * @return the highest sequence released by the consumer, or -1
+     */
+    public long getConsumedSequence() {
+        return consumed.get();
+    }
+
+    /**
+     * @return the number of slots
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return the number of claimed slots not yet released; a snapshot under concurrency
+     */
+    public int size() {
+        return (int) Math.max(0, claimed.get() - consumed.get());
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.logger.format;
+
+import org.example.logger.LogEvent;
+import org.example.logger.MDCKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message format compiled once into a list of segments.
+ * <p>
+ * Supported placeholders are {TIMESTAMP}, {LEVEL}, {LOGGER}, {MDC:key} and {MESSAGE}.
+ * Anything else, including unknown placeholders, is copied through as literal text.
+ * Rendering walks the segments once and appends into a single builder, so values
+ * such as the user message are never scanned for placeholders themselves.
+ * {MESSAGE} renders the message with its {} parameters substituted, followed by the
+ * stack trace of the event's throwable, if any, as rendered by the template's {@link ThrowableRenderer}.
+ */
+public final class MessageTemplate {
+    private static final int LITERAL = 0;
+    private static final int TIMESTAMP = 1;
+    private static final int LEVEL = 2;
+    private static final int LOGGER = 3;
+    private static final int MDC_KEY = 4;
+    private static final int MESSAGE = 5;
+
+    private static final String MDC_PREFIX = "MDC:";
+    private static final int MAX_CACHED_BUILDER_SIZE = 4096;
+    private static final ThreadLocal<StringBuilder> BUILDER =
+            ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final String pattern;
+    private final TimestampFormatter timestampFormatter;
+    private final ThrowableRenderer throwableRenderer;
+    private final int[] kinds;
+    // literal text for LITERAL segments, the key for MDC_KEY segments, null otherwise
+    private final String[] values;
+    // the registered key for MDC_KEY segments, null otherwise
+    private final MDCKey[] mdcKeys;
+    private final boolean usesMdc;
+
+    private MessageTemplate(String pattern, TimestampFormatter timestampFormatter,
+                            ThrowableRenderer throwableRenderer, int[] kinds, String[] values) {
+        this.pattern = pattern;
+        this.timestampFormatter = timestampFormatter;
+        this.throwableRenderer = throwableRenderer;
+        this.kinds = kinds;
+        this.values = values;
+        this.mdcKeys = new MDCKey[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            if (kinds[i] == MDC_KEY) {
+                // Registered once here, so rendering reads the value by slot
+                mdcKeys[i] = MDCKey.of(values[i]);
+            }
+        }
+        boolean mdc = false;
+        for (int kind : kinds) {
+            mdc |= kind == MDC_KEY;
+        }
+        this.usesMdc = mdc;
+    }
+
+    /**
+     * Compiles a message format into a template.
+     *
+     * @param pattern            the message format, e.g. "{TIMESTAMP} [{LEVEL}] - {MESSAGE}"
+     * @param timestampFormatter formatter used for the {TIMESTAMP} placeholder
+     * @return the compiled template
+     */
+    public static MessageTemplate compile(String pattern, TimestampFormatter timestampFormatter) {
+        return compile(pattern, timestampFormatter, ThrowableRenderer.FULL);
+    }
+
+    /**
+     * Compiles a message format into a template that renders stack traces with the given renderer.
+     */
+    public static MessageTemplate compile(String pattern, TimestampFormatter timestampFormatter,
+                                          ThrowableRenderer throwableRenderer) {
+        if (pattern == null || throwableRenderer == null) {
+            throw new IllegalArgumentException("pattern and throwable renderer cannot be null");
+        }
+
+        List<Integer> kinds = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int close = c == '{' ? pattern.indexOf('}', i + 1) : -1;
+            int kind = close < 0 ? LITERAL : placeholderKind(pattern.substring(i + 1, close));
+
+            if (kind == LITERAL) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+
+            if (literal.length() > 0) {
+                kinds.add(LITERAL);
+                values.add(literal.toString());
+                literal.setLength(0);
+            }
+            kinds.add(kind);
+            values.add(kind == MDC_KEY ? pattern.substring(i + 1 + MDC_PREFIX.length(), close) : null);
+            i = close + 1;
+        }
+        if (literal.length() > 0) {
+            kinds.add(LITERAL);
+            values.add(literal.toString());
+        }
+
+        int[] kindArray = new int[kinds.size()];
+        for (int k = 0; k < kindArray.length; k++) {
+            kindArray[k] = kinds.get(k);
+        }
+        return new MessageTemplate(pattern, timestampFormatter, throwableRenderer, kindArray,
+                values.toArray(new String[0]));
+    }
+
+    private static int placeholderKind(String name) {
+        switch (name) {
+            case "TIMESTAMP":
+                return TIMESTAMP;
+            case "LEVEL":
+                return LEVEL;
+            case "LOGGER":
+                return LOGGER;
+            case "MESSAGE":
+                return MESSAGE;
+            default:
+                return isMdcPlaceholder(name) ? MDC_KEY : LITERAL;
+        }
+    }
+
+    // Matches the keys accepted by the old {MDC:(\w+)} expression
+    private static boolean isMdcPlaceholder(String name) {
+        if (!name.startsWith(MDC_PREFIX) || name.length() == MDC_PREFIX.length()) {
+            return false;
+        }
+        for (int i = MDC_PREFIX.length(); i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!(Character.isLetterOrDigit(c) && c < 128) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Renders a log line for an event.
+     *
+     * @param event the event to render
+     * @return the formatted line
+     */
+    public String format(LogEvent event) {
+        StringBuilder sb = BUILDER.get();
+        sb.setLength(0);
+        formatTo(sb, event);
+        String result = sb.toString();
+        if (sb.capacity() > MAX_CACHED_BUILDER_SIZE) {
+            // Don't keep a huge buffer around after one oversized message
+            BUILDER.set(new StringBuilder(256));
+        }
+        return result;
+    }
+
+    /**
+     * Renders a log line for an event into the provided builder.
+     */
+    public void formatTo(StringBuilder sb, LogEvent event) {
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case LITERAL:
+                    sb.append(values[i]);
+                    break;
+                case TIMESTAMP:
+                    timestampFormatter.formatTo(sb, event.getEpochMillis());
+                    break;
+                case LEVEL:
+                    sb.append(event.getLevel().name());
+                    break;
+                case LOGGER:
+                    sb.append(event.getLoggerName());
+                    break;
+                case MDC_KEY:
+                    String mdcValue = event.getContextValue(mdcKeys[i]);
+                    if (mdcValue != null) {
+                        sb.append(mdcValue);
+                    }
+                    break;
+                case MESSAGE:
+                    event.formatMessageTo(sb);
+                    if (event.getThrowable() != null) {
+                        sb.append('\n');
+                        throwableRenderer.renderTo(sb, event.getThrowable(), event.getEpochMillis());
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown segment kind " + kinds[i]);
+            }
+        }
+    }
+
+    /**
+     * @return true if the format references any {MDC:key} placeholder
+     */
+    public boolean usesMdc() {
+        return usesMdc;
+    }
+
+    /**
+     * @return the message format this template was compiled from
+     */
+    public String getPattern() {
+        return pattern;
+    }
+}
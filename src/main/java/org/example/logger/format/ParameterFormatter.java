@@ -0,0 +1,141 @@
+package org.example.logger.format;
+
+import java.util.Arrays;
+
+/**
+ * Substitutes {@code {}} placeholders in a message pattern with arguments.
+ * <p>
+ * Placeholders are filled left to right. A placeholder preceded by a backslash is
+ * written as a literal {@code {}}. Surplus placeholders are left untouched and surplus
+ * arguments are ignored. Arrays are rendered with {@link Arrays#deepToString(Object[])}.
+ */
+public final class ParameterFormatter {
+    private static final String PLACEHOLDER = "{}";
+    private static final char ESCAPE = '\\';
+
+    private ParameterFormatter() {
+    }
+
+    /**
+     * Formats a pattern with one argument.
+     */
+    public static String format(String pattern, Object arg) {
+        StringBuilder sb = new StringBuilder(pattern.length() + 16);
+        formatTo(sb, pattern, 1, arg, null, null);
+        return sb.toString();
+    }
+
+    /**
+     * Formats a pattern with two arguments.
+     */
+    public static String format(String pattern, Object arg1, Object arg2) {
+        StringBuilder sb = new StringBuilder(pattern.length() + 32);
+        formatTo(sb, pattern, 2, arg1, arg2, null);
+        return sb.toString();
+    }
+
+    /**
+     * Formats a pattern with any number of arguments.
+     */
+    public static String format(String pattern, Object... args) {
+        StringBuilder sb = new StringBuilder(pattern.length() + 16 * (args == null ? 0 : args.length));
+        formatTo(sb, pattern, args == null ? 0 : args.length, null, null, args);
+        return sb.toString();
+    }
+
+    /**
+     * Formats a pattern into the provided builder. When {@code args} is null the first
+     * two arguments are taken from {@code arg1} and {@code arg2}, which lets fixed-arity
+     * callers avoid allocating an array.
+     *
+     * @param sb       destination
+     * @param pattern  the message pattern
+     * @param argCount number of arguments to substitute
+     * @param arg1     first argument, used when {@code args} is null
+     * @param arg2     second argument, used when {@code args} is null
+     * @param args     all arguments, or null
+     */
+    public static void formatTo(StringBuilder sb, String pattern, int argCount,
+                                Object arg1, Object arg2, Object[] args) {
+        if (pattern == null) {
+            sb.append((String) null);
+            return;
+        }
+
+        int start = 0;
+        int argIndex = 0;
+        while (argIndex < argCount) {
+            int placeholder = pattern.indexOf(PLACEHOLDER, start);
+            if (placeholder < 0) {
+                break;
+            }
+            if (isEscaped(pattern, placeholder)) {
+                if (isEscaped(pattern, placeholder - 1)) {
+                    // "\\{}" is an escaped backslash followed by a real placeholder
+                    sb.append(pattern, start, placeholder - 1);
+                    appendArgument(sb, argument(argIndex++, arg1, arg2, args));
+                } else {
+                    sb.append(pattern, start, placeholder - 1).append(PLACEHOLDER);
+                }
+            } else {
+                sb.append(pattern, start, placeholder);
+                appendArgument(sb, argument(argIndex++, arg1, arg2, args));
+            }
+            start = placeholder + PLACEHOLDER.length();
+        }
+        sb.append(pattern, start, pattern.length());
+    }
+
+    /**
+     * Counts the unescaped placeholders in a pattern.
+     */
+    public static int countPlaceholders(String pattern) {
+        if (pattern == null) {
+            return 0;
+        }
+        int count = 0;
+        int placeholder = pattern.indexOf(PLACEHOLDER);
+        while (placeholder >= 0) {
+            if (!isEscaped(pattern, placeholder) || isEscaped(pattern, placeholder - 1)) {
+                count++;
+            }
+            placeholder = pattern.indexOf(PLACEHOLDER, placeholder + PLACEHOLDER.length());
+        }
+        return count;
+    }
+
+    private static boolean isEscaped(String pattern, int index) {
+        return index > 0 && pattern.charAt(index - 1) == ESCAPE;
+    }
+
+    private static Object argument(int index, Object arg1, Object arg2, Object[] args) {
+        if (args != null) {
+            return args[index];
+        }
+        return index == 0 ? arg1 : arg2;
+    }
+
+    private static void appendArgument(StringBuilder sb, Object arg) {
+        if (arg == null) {
+            sb.append("null");
+            return;
+        }
+        try {
+            if (arg instanceof String) {
+                sb.append((String) arg);
+            } else if (arg instanceof Object[]) {
+                sb.append(Arrays.deepToString((Object[]) arg));
+            } else if (arg.getClass().isArray()) {
+                // Primitive arrays: wrap so deepToString picks the right overload, then unwrap
+                String rendered = Arrays.deepToString(new Object[]{arg});
+                sb.append(rendered, 1, rendered.length() - 1);
+            } else {
+                sb.append(arg);
+            }
+        } catch (RuntimeException e) {
+            // A broken toString() must not take the logging call down with it
+            sb.append("[FAILED toString() of ").append(arg.getClass().getName()).append(": ")
+                    .append(e).append(']');
+        }
+    }
+}
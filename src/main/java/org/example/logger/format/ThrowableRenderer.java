@@ -0,0 +1,205 @@
+package org.example.logger.format;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the stack trace of a logged throwable for {@link MessageTemplate}.
+ * <p>
+ * {@link #FULL} prints it exactly as {@link Throwable#printStackTrace()} does. A bounded
+ * renderer walks the trace itself, in the same layout, with optional limits:
+ * <ul>
+ *     <li>{@code maxFrames}: frames printed per throwable, after dropping the frames a cause
+ *     shares with the exception that wraps it ({@code ... n more});</li>
+ *     <li>{@code maxCauses}: causes printed below the top throwable; the rest of the chain is
+ *     summarized by its root cause;</li>
+ *     <li>{@code dedupWindowMillis}: a trace is printed in full once per window, tagged
+ *     {@code [#id]}. Repeats within the window print only their first line and
+ *     {@code [same trace as #id]}. Traces match on exception classes and frames, not messages.</li>
+ * </ul>
+ * Zero means no limit, or no deduplication. Rendering only happens once a sink accepts the
+ * event, on the thread that formats it.
+ */
+public final class ThrowableRenderer {
+    /**
+     * Prints every throwable with {@link Throwable#printStackTrace()}.
+     */
+    public static final ThrowableRenderer FULL = new ThrowableRenderer(0, 0, 0);
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int MAX_TRACKED_TRACES = 1024;
+
+    private final int maxFrames;
+    private final int maxCauses;
+    private final long dedupWindowMillis;
+    // Fingerprint -> the trace last printed in full, least recently seen first
+    private final Map<Long, Seen> seen;
+    private long nextId = 1;
+
+    /**
+     * @param maxFrames         frames printed per throwable, or 0 for all
+     * @param maxCauses         causes printed below the top throwable, or 0 for all
+     * @param dedupWindowMillis how long a printed trace is referenced by id instead of repeated, or 0 to always print it
+     */
+    public ThrowableRenderer(int maxFrames, int maxCauses, long dedupWindowMillis) {
+        if (maxFrames < 0 || maxCauses < 0 || dedupWindowMillis < 0) {
+            throw new IllegalArgumentException("Throwable rendering limits cannot be negative");
+        }
+        this.maxFrames = maxFrames;
+        this.maxCauses = maxCauses;
+        this.dedupWindowMillis = dedupWindowMillis;
+        this.seen = dedupWindowMillis == 0 ? null : new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Seen> eldest) {
+                return size() > MAX_TRACKED_TRACES;
+            }
+        };
+    }
+
+    /**
+     * @return a renderer with the same limits and its own deduplication history, for a sink
+     * that renders throwables separately from the others
+     */
+    public ThrowableRenderer copy() {
+        return new ThrowableRenderer(maxFrames, maxCauses, dedupWindowMillis);
+    }
+
+    /**
+     * Appends the stack trace of a throwable.
+     *
+     * @param sb        the builder to append to
+     * @param throwable the throwable to render
+     * @param nowMillis the event time, used for the deduplication window
+     */
+    public void renderTo(StringBuilder sb, Throwable throwable, long nowMillis) {
+        if (maxFrames == 0 && maxCauses == 0 && seen == null) {
+            // Also honours throwables that override printStackTrace
+            StringWriter sw = new StringWriter();
+            throwable.printStackTrace(new PrintWriter(sw));
+            sb.append(sw.getBuffer());
+            return;
+        }
+
+        String tag = null;
+        if (seen != null) {
+            long fingerprint = fingerprint(throwable);
+            String className = throwable.getClass().getName();
+            synchronized (seen) {
+                Seen previous = seen.get(fingerprint);
+                if (previous != null && previous.className.equals(className)
+                        && nowMillis - previous.printedMillis < dedupWindowMillis) {
+                    sb.append(throwable).append(" [same trace as #").append(previous.id).append(']')
+                            .append(LINE_SEPARATOR);
+                    return;
+                }
+                long id = previous != null && previous.className.equals(className) ? previous.id : nextId++;
+                seen.put(fingerprint, new Seen(id, className, nowMillis));
+                tag = " [#" + id + "]";
+            }
+        }
+
+        Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        StackTraceElement[] trace = throwable.getStackTrace();
+        sb.append(throwable);
+        if (tag != null) {
+            sb.append(tag);
+        }
+        sb.append(LINE_SEPARATOR);
+        visited.add(throwable);
+        appendFrames(sb, trace, trace.length, "");
+        appendEnclosed(sb, throwable, trace, "", visited, maxCauses == 0 ? Integer.MAX_VALUE : maxCauses);
+    }
+
+    // Suppressed exceptions and the cause of a throwable whose header and frames are already written
+    private void appendEnclosed(StringBuilder sb, Throwable throwable, StackTraceElement[] trace, String prefix,
+                                Set<Throwable> visited, int causesLeft) {
+        for (Throwable suppressed : throwable.getSuppressed()) {
+            appendThrowable(sb, suppressed, trace, "Suppressed: ", prefix + "\t", visited, causesLeft);
+        }
+        Throwable cause = throwable.getCause();
+        if (cause == null) {
+            return;
+        }
+        if (causesLeft == 0) {
+            appendOmittedCauses(sb, cause, prefix, visited);
+        } else {
+            appendThrowable(sb, cause, trace, "Caused by: ", prefix, visited, causesLeft - 1);
+        }
+    }
+
+    private void appendThrowable(StringBuilder sb, Throwable throwable, StackTraceElement[] enclosingTrace,
+                                 String caption, String prefix, Set<Throwable> visited, int causesLeft) {
+        if (!visited.add(throwable)) {
+            sb.append(prefix).append(caption).append("[CIRCULAR REFERENCE: ").append(throwable).append(']')
+                    .append(LINE_SEPARATOR);
+            return;
+        }
+        StackTraceElement[] trace = throwable.getStackTrace();
+        // Frames shared with the enclosing trace are printed once, there
+        int m = trace.length - 1;
+        int n = enclosingTrace.length - 1;
+        while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+            m--;
+            n--;
+        }
+        int framesInCommon = trace.length - 1 - m;
+
+        sb.append(prefix).append(caption).append(throwable).append(LINE_SEPARATOR);
+        appendFrames(sb, trace, m + 1, prefix);
+        if (framesInCommon != 0) {
+            sb.append(prefix).append("\t... ").append(framesInCommon).append(" more").append(LINE_SEPARATOR);
+        }
+        appendEnclosed(sb, throwable, trace, prefix, visited, causesLeft);
+    }
+
+    private void appendFrames(StringBuilder sb, StackTraceElement[] trace, int unique, String prefix) {
+        int shown = maxFrames == 0 ? unique : Math.min(unique, maxFrames);
+        for (int i = 0; i < shown; i++) {
+            sb.append(prefix).append("\tat ").append(trace[i]).append(LINE_SEPARATOR);
+        }
+        if (shown < unique) {
+            sb.append(prefix).append("\t... ").append(unique - shown).append(" frames omitted").append(LINE_SEPARATOR);
+        }
+    }
+
+    private static void appendOmittedCauses(StringBuilder sb, Throwable cause, String prefix, Set<Throwable> visited) {
+        int omitted = 0;
+        Throwable root = cause;
+        for (Throwable t = cause; t != null && visited.add(t); t = t.getCause()) {
+            omitted++;
+            root = t;
+        }
+        sb.append(prefix).append("\t... ").append(omitted).append(omitted == 1 ? " cause" : " causes")
+                .append(" omitted, root cause: ").append(root).append(LINE_SEPARATOR);
+    }
+
+    // Exception classes and frames of the whole cause chain; messages often carry ids, so they are left out
+    private static long fingerprint(Throwable throwable) {
+        Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        long hash = 17;
+        for (Throwable t = throwable; t != null && visited.add(t); t = t.getCause()) {
+            hash = hash * 31 + t.getClass().getName().hashCode();
+            for (StackTraceElement frame : t.getStackTrace()) {
+                hash = hash * 31 + frame.hashCode();
+            }
+        }
+        return hash;
+    }
+
+    private static final class Seen {
+        final long id;
+        final String className;
+        final long printedMillis;
+
+        Seen(long id, String className, long printedMillis) {
+            this.id = id;
+            this.className = className;
+            this.printedMillis = printedMillis;
+        }
+    }
+}
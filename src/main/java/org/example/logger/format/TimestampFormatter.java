@@ -0,0 +1,257 @@
+package org.example.logger.format;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneRules;
+
+/**
+ * Renders epoch-millisecond timestamps for the {TIMESTAMP} placeholder.
+ * <p>
+ * The rendered text is cached for the current second, so with second-precision
+ * patterns such as the default {@code yyyy-MM-dd HH:mm:ss} the common case is a
+ * single volatile read. Patterns whose only sub-second field is {@code SSS} reuse
+ * the cached second and splice in the millisecond digits; any other sub-second
+ * field falls back to a per-millisecond cache. A handful of ISO-style patterns are
+ * rendered by hand on a cache miss instead of going through {@link DateTimeFormatter}.
+ */
+public final class TimestampFormatter {
+    // Patterns the hand-written renderer understands
+    private static final String[] FAST_PATTERNS = {
+            "yyyy-MM-dd HH:mm:ss",
+            "yyyy-MM-dd HH:mm:ss.SSS",
+            "yyyy-MM-dd'T'HH:mm:ss",
+            "yyyy-MM-dd'T'HH:mm:ss.SSS",
+            "HH:mm:ss",
+            "HH:mm:ss.SSS",
+    };
+
+    private final String pattern;
+    private final DateTimeFormatter formatter;
+    private final ZoneRules zoneRules;
+    private final boolean subSecondPattern;
+    private final boolean fastPattern;
+
+    private volatile CachedText cachedSecond = new CachedText(Long.MIN_VALUE, null, -1);
+    private volatile CachedText cachedMillis = new CachedText(Long.MIN_VALUE, null, -1);
+
+    private TimestampFormatter(String pattern, ZoneId zone) {
+        this.pattern = pattern;
+        this.formatter = DateTimeFormatter.ofPattern(pattern).withZone(zone);
+        this.zoneRules = zone.getRules();
+        this.subSecondPattern = hasSubSecondField(pattern);
+        this.fastPattern = isFastPattern(pattern);
+    }
+
+    /**
+     * Creates a formatter for the given pattern in the system default time zone.
+     *
+     * @param pattern a {@link DateTimeFormatter} pattern
+     * @return the formatter
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static TimestampFormatter ofPattern(String pattern) {
+        return ofPattern(pattern, ZoneId.systemDefault());
+    }
+
+    /**
+     * Creates a formatter for the given pattern in the given time zone.
+     */
+    public static TimestampFormatter ofPattern(String pattern, ZoneId zone) {
+        return new TimestampFormatter(pattern, zone);
+    }
+
+    // Fields below one second change the output within a second: S, n, N and A
+    private static boolean hasSubSecondField(String pattern) {
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && (c == 'S' || c == 'n' || c == 'N' || c == 'A')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFastPattern(String pattern) {
+        for (String fast : FAST_PATTERNS) {
+            if (fast.equals(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Renders the given instant.
+     *
+     * @param epochMillis milliseconds since the epoch
+     * @return the rendered timestamp
+     */
+    public String format(long epochMillis) {
+        CachedText second = secondFor(epochMillis);
+        if (!subSecondPattern) {
+            return second.text;
+        }
+        if (second.millisOffset >= 0) {
+            StringBuilder sb = new StringBuilder(second.text.length());
+            appendSpliced(sb, second, (int) Math.floorMod(epochMillis, 1000L));
+            return sb.toString();
+        }
+        return millisecondFor(epochMillis).text;
+    }
+
+    /**
+     * Renders the given instant into the provided builder.
+     */
+    public void formatTo(StringBuilder sb, long epochMillis) {
+        CachedText second = secondFor(epochMillis);
+        if (!subSecondPattern) {
+            sb.append(second.text);
+        } else if (second.millisOffset >= 0) {
+            appendSpliced(sb, second, (int) Math.floorMod(epochMillis, 1000L));
+        } else {
+            sb.append(millisecondFor(epochMillis).text);
+        }
+    }
+
+    private CachedText secondFor(long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000L);
+        CachedText second = cachedSecond;
+        if (second.key != epochSecond) {
+            second = renderSecond(epochSecond);
+            cachedSecond = second;
+        }
+        return second;
+    }
+
+    private CachedText millisecondFor(long epochMillis) {
+        CachedText exact = cachedMillis;
+        if (exact.key != epochMillis) {
+            exact = new CachedText(epochMillis, formatter.format(Instant.ofEpochMilli(epochMillis)), -1);
+            cachedMillis = exact;
+        }
+        return exact;
+    }
+
+    private CachedText renderSecond(long epochSecond) {
+        long startMillis = epochSecond * 1000L;
+        String text = render(startMillis);
+        if (!subSecondPattern) {
+            return new CachedText(epochSecond, text, -1);
+        }
+
+        // Find where the millisecond digits live by rendering a second probe with distinct digits
+        String probe = render(startMillis + 987);
+        int offset = -1;
+        if (probe.length() == text.length()) {
+            int first = -1;
+            int last = -1;
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) != probe.charAt(i)) {
+                    if (first < 0) {
+                        first = i;
+                    }
+                    last = i;
+                }
+            }
+            if (first >= 0 && last - first == 2 && probe.startsWith("987", first)
+                    && text.startsWith("000", first)) {
+                offset = first;
+            }
+        }
+        return new CachedText(epochSecond, text, offset);
+    }
+
+    private static void appendSpliced(StringBuilder sb, CachedText second, int millis) {
+        int offset = second.millisOffset;
+        sb.append(second.text, 0, offset);
+        sb.append((char) ('0' + millis / 100));
+        appendTwoDigits(sb, millis % 100);
+        sb.append(second.text, offset + 3, second.text.length());
+    }
+
+    private String render(long epochMillis) {
+        String text = fastPattern ? renderFast(epochMillis) : null;
+        return text != null ? text : formatter.format(Instant.ofEpochMilli(epochMillis));
+    }
+
+    // Hand-written rendering of FAST_PATTERNS, or null for years it can't print
+    private String renderFast(long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000L);
+        int millis = (int) Math.floorMod(epochMillis, 1000L);
+        long localSecond = epochSecond + zoneRules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        long epochDay = Math.floorDiv(localSecond, 86400L);
+        int secondOfDay = (int) Math.floorMod(localSecond, 86400L);
+
+        StringBuilder sb = new StringBuilder(pattern.length());
+        if (pattern.startsWith("yyyy")) {
+            if (!appendDate(sb, epochDay)) {
+                return null;
+            }
+            sb.append(pattern.charAt(10) == '\'' ? 'T' : ' ');
+        }
+        appendTwoDigits(sb, secondOfDay / 3600);
+        sb.append(':');
+        appendTwoDigits(sb, (secondOfDay / 60) % 60);
+        sb.append(':');
+        appendTwoDigits(sb, secondOfDay % 60);
+        if (pattern.endsWith(".SSS")) {
+            sb.append('.');
+            sb.append((char) ('0' + millis / 100));
+            appendTwoDigits(sb, millis % 100);
+        }
+        return sb.toString();
+    }
+
+    // Civil date from days since 1970-01-01 (proleptic Gregorian)
+    private static boolean appendDate(StringBuilder sb, long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < 0 || year > 9999) {
+            return false;
+        }
+        appendTwoDigits(sb, (int) (year / 100));
+        appendTwoDigits(sb, (int) (year % 100));
+        sb.append('-');
+        appendTwoDigits(sb, month);
+        sb.append('-');
+        appendTwoDigits(sb, day);
+        return true;
+    }
+
+    private static void appendTwoDigits(StringBuilder sb, int value) {
+        sb.append((char) ('0' + value / 10));
+        sb.append((char) ('0' + value % 10));
+    }
+
+    /**
+     * @return the pattern this formatter was created from
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    // Immutable cache entry, published through a volatile field
+    private static final class CachedText {
+        private final long key;
+        private final String text;
+        private final int millisOffset;
+
+        CachedText(long key, String text, int millisOffset) {
+            this.key = key;
+            this.text = text;
+            this.millisOffset = millisOffset;
+        }
+    }
+}
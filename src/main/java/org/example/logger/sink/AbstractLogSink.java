@@ -0,0 +1,61 @@
+package org.example.logger.sink;
+
+import org.example.logger.Level;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Level handling shared by string-based {@link LogMessageSink}s and event-based
+ * {@link LogEventSink}s.
+ */
+public abstract class AbstractLogSink {
+    private final List<Runnable> levelChangeListeners = new CopyOnWriteArrayList<>();
+    volatile Level sinkLevel;
+
+    protected AbstractLogSink(Level sinkLevel) {
+        this.sinkLevel = sinkLevel;
+    }
+
+    protected boolean ignoreMessageAtLevel(Level messageLevel) {
+        return messageLevel.getLevelInt() < sinkLevel.getLevelInt();
+    }
+
+    /**
+     * @return the minimum level this sink accepts
+     */
+    public Level getSinkLevel() {
+        return sinkLevel;
+    }
+
+    /**
+     * Changes the minimum level this sink accepts and notifies registered listeners.
+     *
+     * @param sinkLevel the new minimum level
+     */
+    public void setSinkLevel(Level sinkLevel) {
+        if (sinkLevel == null) {
+            throw new IllegalArgumentException("sinkLevel cannot be null");
+        }
+        this.sinkLevel = sinkLevel;
+        for (Runnable listener : levelChangeListeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Registers a callback invoked whenever {@link #setSinkLevel(Level)} is called.
+     */
+    public void addLevelChangeListener(Runnable listener) {
+        levelChangeListeners.add(listener);
+    }
+
+    /**
+     * Removes a callback registered with {@link #addLevelChangeListener(Runnable)}.
+     */
+    public void removeLevelChangeListener(Runnable listener) {
+        levelChangeListeners.remove(listener);
+    }
+
+    public abstract void flush();
+}
@@ -0,0 +1,27 @@
+package org.example.logger.sink;
+
+import org.example.logger.Level;
+import org.example.logger.LogEvent;
+
+/**
+ * A sink that receives structured {@link LogEvent}s and does its own formatting.
+ * <p>
+ * In async mode events are delivered on the worker thread, so any layout work the
+ * sink does stays off the logging threads. An event is only valid for the duration
+ * of the call; use {@link LogEvent#toImmutable()} to keep it.
+ */
+public abstract class LogEventSink extends AbstractLogSink {
+
+    protected LogEventSink(Level sinkLevel) {
+        super(sinkLevel);
+    }
+
+    public abstract void consumeEvent(LogEvent event);
+
+    /**
+     * Called after each batch of events the async worker delivers, and after each event
+     * delivered on the logging thread, so buffering sinks can write once per batch.
+     */
+    public void endOfBatch() {
+    }
+}
@@ -2,18 +2,32 @@ package org.example.logger.sink;
 
 import org.example.logger.Level;
 
-public abstract class LogMessageSink {
-    Level sinkLevel;
+/**
+ * A sink that receives fully formatted log lines.
+ */
+public abstract class LogMessageSink extends AbstractLogSink {
 
     protected LogMessageSink(Level sinkLevel) {
-        this.sinkLevel = sinkLevel;
-    }
-
-    protected boolean ignoreMessageAtLevel(Level messageLevel) {
-        return messageLevel.getLevelInt() < sinkLevel.getLevelInt();
+        super(sinkLevel);
     }
 
     public abstract void consumeMessage(Level level, String oneMessage);
 
-    public abstract void flush();
+    /**
+     * Receives the lines an async logger drained together, in order. Only the first
+     * {@code count} entries are valid, and the arrays are reused once this returns.
+     * The default hands each line to {@link #consumeMessage(Level, String)}.
+     */
+    public void consumeBatch(Level[] levels, String[] messages, int count) {
+        for (int i = 0; i < count; i++) {
+            consumeMessage(levels[i], messages[i]);
+        }
+    }
+
+    /**
+     * Called after each batch has been delivered, so buffering sinks can flush once
+     * per batch rather than once per line.
+     */
+    public void endOfBatch() {
+    }
 }
@@ -0,0 +1,24 @@
+package org.example.logger.sink;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A sink with its own queue and consumer thread, such as
+ * {@link org.example.logger.sink.impl.AsyncSink}. It flushes and syncs on that thread and
+ * reports back through a future, so the logger neither holds the lock that keeps its other
+ * sinks single-writer nor blocks its own worker while waiting for it.
+ */
+public interface QueuedSink {
+
+    /**
+     * @return a future completed once the lines queued before this call are written and the
+     * sink is flushed
+     */
+    CompletableFuture<Void> flushAsync();
+
+    /**
+     * @return a future completed once the lines queued before this call are written and forced
+     * to the storage device, or completed exceptionally if that failed
+     */
+    CompletableFuture<Void> syncAsync();
+}
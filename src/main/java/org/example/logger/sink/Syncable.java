@@ -0,0 +1,18 @@
+package org.example.logger.sink;
+
+import java.io.IOException;
+
+/**
+ * A sink that can force what it has written to the storage device, so it survives a
+ * power failure and not just a crash of the process.
+ */
+public interface Syncable {
+
+    /**
+     * Writes any buffered lines and waits until they are on the storage device.
+     * Called with the same exclusion as the sink's other methods.
+     *
+     * @throws IOException if the lines could not be written or forced
+     */
+    void sync() throws IOException;
+}
@@ -0,0 +1,394 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.async.AsyncOverflowPolicy;
+import org.example.logger.async.OverflowHandler;
+import org.example.logger.async.RingBuffer;
+import org.example.logger.sink.LogMessageSink;
+import org.example.logger.sink.QueuedSink;
+import org.example.logger.sink.Syncable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gives another sink its own bounded queue and consumer thread, so a slow sink such as a
+ * piped stdout cannot hold up the logger's other sinks or its callers.
+ * <p>
+ * Lines are handed to the wrapped sink in batches, followed by {@link LogMessageSink#endOfBatch()}.
+ * The wrapped sink is only ever called from the consumer thread, or under the same lock
+ * when the SYNCHRONOUS overflow policy makes the caller write. Its level is mirrored here.
+ */
+public class AsyncSink extends LogMessageSink implements Syncable, QueuedSink, Closeable {
+    // Upper bound on how long an idle consumer sleeps without being woken
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    // Upper bound on lines handed to the wrapped sink in one batch
+    private static final int MAX_BATCH_SIZE = 1024;
+    // How often the consumer reports lines dropped because the queue was full
+    private static final long DROP_SUMMARY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    // Upper bound on how long flush(), sync() and close() wait for the consumer
+    private static final long FLUSH_TIMEOUT_SECONDS = 10;
+
+    private final LogMessageSink delegate;
+    private final RingBuffer<Entry> buffer;
+    private final OverflowHandler overflow;
+    private final Thread consumer;
+    private final boolean virtualThread;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    // Set while the consumer is parked, so producers only unpark it when needed
+    private volatile boolean consumerParked;
+    private volatile boolean consumerStopped;
+    // Held whenever the wrapped sink is called
+    private final Object delegateLock = new Object();
+    // Flush barriers waiting for the consumer to pass their sequence
+    private final Queue<FlushRequest> flushRequests = new ConcurrentLinkedQueue<>();
+    // Consumer only: reused batch arrays
+    private final Level[] batchLevels = new Level[MAX_BATCH_SIZE];
+    private final String[] batchMessages = new String[MAX_BATCH_SIZE];
+    private long lastDropSummaryNanos = System.nanoTime();
+
+    /**
+     * Wraps a sink with a queue that blocks callers when full, consumed by a platform thread.
+     *
+     * @param delegate  the sink to isolate
+     * @param queueSize queue capacity, rounded up to a power of two
+     */
+    public AsyncSink(LogMessageSink delegate, int queueSize) {
+        this(delegate, queueSize, AsyncOverflowPolicy.BLOCK, Level.WARN, false);
+    }
+
+    /**
+     * @param delegate        the sink to isolate
+     * @param queueSize       queue capacity, rounded up to a power of two
+     * @param overflowPolicy  what callers do when the queue is full
+     * @param dropBelowLevel  for {@link AsyncOverflowPolicy#DROP_BELOW_LEVEL}, the lowest level kept
+     * @param virtualThread   run the consumer on a virtual thread when the JVM supports them (Java 21+)
+     */
+    public AsyncSink(LogMessageSink delegate, int queueSize, AsyncOverflowPolicy overflowPolicy,
+                     Level dropBelowLevel, boolean virtualThread) {
+        super(delegate.getSinkLevel());
+        this.delegate = delegate;
+        this.buffer = new RingBuffer<>(queueSize, Entry::new);
+        this.overflow = new OverflowHandler(overflowPolicy, dropBelowLevel);
+        delegate.addLevelChangeListener(() -> setSinkLevel(delegate.getSinkLevel()));
+
+        String name = "Logger-AsyncSink-" + delegate.getClass().getSimpleName();
+        Thread thread = virtualThread ? newVirtualThread(name, this::runConsumer) : null;
+        this.virtualThread = thread != null;
+        if (thread == null) {
+            thread = new Thread(this::runConsumer, name);
+            thread.setDaemon(true);
+        }
+        this.consumer = thread;
+        consumer.start();
+    }
+
+    // Thread.ofVirtual() through reflection, since we compile for Java 17; null if unavailable
+    private static Thread newVirtualThread(String name, Runnable task) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class).invoke(builder, name);
+            Method unstarted = builderType.getMethod("unstarted", Runnable.class);
+            return (Thread) unstarted.invoke(builder, task);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void consumeMessage(Level level, String oneMessage) {
+        if (ignoreMessageAtLevel(level)) {
+            return;
+        }
+        long sequence = overflow.claim(buffer, level, running::get, consumer);
+        if (sequence == OverflowHandler.DROPPED) {
+            return;
+        }
+        if (sequence == OverflowHandler.DELIVER_ON_CALLER) {
+            synchronized (delegateLock) {
+                delegate.consumeMessage(level, oneMessage);
+            }
+            return;
+        }
+        Entry entry = buffer.get(sequence);
+        entry.level = level;
+        entry.message = oneMessage;
+        buffer.publish(sequence);
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void runConsumer() {
+        try {
+            long next = buffer.getConsumedSequence() + 1;
+            while (running.get()) {
+                if (buffer.isPublished(next)) {
+                    next = deliverBatch(next);
+                    completeFlushRequests(false);
+                    continue;
+                }
+                reportDroppedLines(false);
+                completeFlushRequests(false);
+                consumerParked = true;
+                // Re-check after announcing we're parked, a producer may have published in between
+                if (!buffer.isPublished(next) && running.get()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                consumerParked = false;
+            }
+            while (buffer.isPublished(next)) {
+                next = deliverBatch(next);
+            }
+            reportDroppedLines(true);
+        } finally {
+            consumerStopped = true;
+            completeFlushRequests(true);
+        }
+    }
+
+    // Hands the run of published lines starting at first to the wrapped sink, then frees their slots
+    private long deliverBatch(long first) {
+        int count = 0;
+        long end = first;
+        while (end - first < MAX_BATCH_SIZE && buffer.isPublished(end)) {
+            Entry entry = buffer.get(end++);
+            if (overflow.takeOldestDropRequest()) {
+                overflow.recordDrop(entry.level);
+            } else {
+                batchLevels[count] = entry.level;
+                batchMessages[count] = entry.message;
+                count++;
+            }
+            entry.message = null;
+        }
+        try {
+            if (count == 0) {
+                return end;
+            }
+            synchronized (delegateLock) {
+                delegate.consumeBatch(batchLevels, batchMessages, count);
+                delegate.endOfBatch();
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to deliver log batch: " + e);
+        } finally {
+            Arrays.fill(batchMessages, 0, count, null);
+            buffer.release(end - 1);
+        }
+        return end;
+    }
+
+    // Consumer only: writes a line about dropped messages straight to the wrapped sink
+    private void reportDroppedLines(boolean force) {
+        long now = System.nanoTime();
+        if (!force && now - lastDropSummaryNanos < DROP_SUMMARY_INTERVAL_NANOS) {
+            return;
+        }
+        lastDropSummaryNanos = now;
+        String dropped = overflow.takeDropSummary();
+        if (dropped != null) {
+            synchronized (delegateLock) {
+                delegate.consumeMessage(Level.WARN, "AsyncSink queue full: " + dropped);
+            }
+        }
+    }
+
+    /**
+     * Waits until the lines queued before this call are written, then flushes the wrapped
+     * sink on the consumer thread.
+     */
+    @Override
+    public void flush() {
+        try {
+            await(flushAsync());
+        } catch (InterruptedIOException e) {
+            // The interrupt flag is set again for the caller
+        } catch (IOException e) {
+            System.err.println("Failed to flush log sink: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits for the lines queued before this call like {@link #flush()}, then syncs the
+     * wrapped sink if it is {@link Syncable}. Fails if the consumer did not get to them in time.
+     */
+    @Override
+    public void sync() throws IOException {
+        await(syncAsync());
+    }
+
+    /**
+     * Like {@link #flush()}, without waiting. Completes exceptionally if the consumer has not
+     * got there within the flush timeout.
+     */
+    @Override
+    public CompletableFuture<Void> flushAsync() {
+        return requestFlush(false);
+    }
+
+    /**
+     * Like {@link #sync()}, without waiting. The wrapped sink is synced on the consumer thread,
+     * once for all the requests it catches up with.
+     */
+    @Override
+    public CompletableFuture<Void> syncAsync() {
+        return requestFlush(true);
+    }
+
+    private CompletableFuture<Void> requestFlush(boolean sync) {
+        FlushRequest request = new FlushRequest(buffer.getClaimedSequence(), sync);
+        flushRequests.add(request);
+        if (consumerStopped) {
+            completeFlushRequests(true);
+        } else {
+            LockSupport.unpark(consumer);
+        }
+        return request.done.orTimeout(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void await(CompletableFuture<Void> done) throws IOException {
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted flushing " + consumer.getName());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new IOException("Timed out flushing " + consumer.getName());
+            }
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    // Flushes the wrapped sink once for every request the consumer has caught up with, or for
+    // all of them, and syncs it once if any of those asked for a sync
+    private void completeFlushRequests(boolean all) {
+        if (flushRequests.isEmpty()) {
+            return;
+        }
+        long consumed = all ? Long.MAX_VALUE : buffer.getConsumedSequence();
+        List<FlushRequest> ready = new ArrayList<>();
+        boolean sync = false;
+        for (FlushRequest request : flushRequests) {
+            if (request.sequence <= consumed && flushRequests.remove(request)) {
+                ready.add(request);
+                sync |= request.sync;
+            }
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+        flushDelegate();
+        Exception failure = null;
+        if (sync && delegate instanceof Syncable) {
+            try {
+                synchronized (delegateLock) {
+                    ((Syncable) delegate).sync();
+                }
+            } catch (IOException | RuntimeException e) {
+                failure = e;
+            }
+        }
+        for (FlushRequest request : ready) {
+            if (request.sync && failure != null) {
+                request.done.completeExceptionally(failure);
+            } else {
+                request.done.complete(null);
+            }
+        }
+    }
+
+    private void flushDelegate() {
+        try {
+            synchronized (delegateLock) {
+                delegate.flush();
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to flush log sink: " + e);
+        }
+    }
+
+    /**
+     * Writes the remaining lines, flushes the wrapped sink and stops the consumer thread.
+     * Lines logged afterwards are written on the caller's thread.
+     */
+    public void close() {
+        running.set(false);
+        // Unpark rather than interrupt: an interrupt would close channel-based sinks
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(FLUSH_TIMEOUT_SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushDelegate();
+    }
+
+    /**
+     * @return the number of lines waiting to be written; a snapshot under concurrency
+     */
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    /**
+     * @return the queue capacity
+     */
+    public int getQueueCapacity() {
+        return buffer.getCapacity();
+    }
+
+    /**
+     * @param level the level to look up
+     * @return the number of lines at this level dropped because the queue was full
+     */
+    public long getDroppedCount(Level level) {
+        return overflow.getDroppedCount(level);
+    }
+
+    /**
+     * @return the wrapped sink
+     */
+    public LogMessageSink getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return true if the consumer runs on a virtual thread
+     */
+    public boolean isVirtualThread() {
+        return virtualThread;
+    }
+
+    private static final class Entry {
+        Level level;
+        String message;
+    }
+
+    private static final class FlushRequest {
+        final long sequence;
+        final boolean sync;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        FlushRequest(long sequence, boolean sync) {
+            this.sequence = sequence;
+            this.sync = sync;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.logger.sink.impl;
+
+/**
+ * Layout of the files written by {@link BinaryLogSink} and read by {@link BinaryLogReader}.
+ * <p>
+ * A file is a sequence of segments, one per time the sink opened it. A segment starts with
+ * the header {@code 'W' 'L' 'B' version} and is followed by event records:
+ * <pre>
+ * 'E' level(ordinal byte) time thread logger message paramCount param* mdcCount (key value)* throwable
+ * </pre>
+ * Integers are unsigned LEB128 varints; signed values are zigzag encoded first. {@code time}
+ * is the delta from the previous event's time, in milliseconds shifted left one bit, or in
+ * nanoseconds shifted left with the low bit set when it isn't whole milliseconds.
+ * <p>
+ * Logger names, thread names, message patterns and MDC keys are string references: {@code 0}
+ * followed by the string, which then takes the next id in the segment's string table if
+ * the table holds fewer than {@link #MAX_STRING_TABLE_SIZE} entries, or {@code id + 1} for a
+ * string seen before. MDC values, string parameters and the stack trace are written inline
+ * as varint length and UTF-8 bytes. A stack trace is preceded by 1, or is just 0 if absent.
+ */
+final class BinaryLogFormat {
+    static final byte[] MAGIC = {'W', 'L', 'B'};
+    static final byte VERSION = 1;
+    static final byte EVENT = 'E';
+
+    // Parameter type tags
+    static final byte NULL = 0;
+    static final byte STRING = 1;
+    static final byte INTEGER = 2;
+    static final byte DOUBLE = 3;
+    static final byte TRUE = 4;
+    static final byte FALSE = 5;
+
+    // Caps the memory the writer and reader spend on one segment's strings
+    static final int MAX_STRING_TABLE_SIZE = 1 << 16;
+
+    static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private BinaryLogFormat() {
+    }
+}
@@ -0,0 +1,265 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.LogEvent;
+import org.example.logger.format.MessageTemplate;
+import org.example.logger.format.TimestampFormatter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the events written by {@link BinaryLogSink}, and renders them as text from the
+ * command line:
+ * <pre>
+ * java -cp weirdloggingLibrary.jar org.example.logger.sink.impl.BinaryLogReader app.wlb \
+ *     ["{TIMESTAMP} [{LEVEL}] [{LOGGER}] - {MESSAGE}"] ["yyyy-MM-dd HH:mm:ss"]
+ * </pre>
+ * A record cut short by a crash ends the file; everything before it is read normally.
+ */
+public class BinaryLogReader implements Closeable {
+    private static final String DEFAULT_MESSAGE_FORMAT = "{TIMESTAMP} [{LEVEL}] [{LOGGER}] - {MESSAGE}";
+    private static final String DEFAULT_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
+    private static final Level[] LEVELS = Level.values();
+
+    private final InputStream in;
+    private final List<String> strings = new ArrayList<>();
+    private long previousEpochNanos;
+    private boolean inSegment;
+
+    /**
+     * @param in the binary log, read from its start
+     */
+    public BinaryLogReader(InputStream in) {
+        this.in = new BufferedInputStream(in);
+    }
+
+    /**
+     * @return the next event, or null at the end of the file
+     * @throws IOException if the file cannot be read or is not a binary log
+     */
+    public LogEvent next() throws IOException {
+        while (true) {
+            int tag = in.read();
+            if (tag < 0) {
+                return null;
+            }
+            try {
+                if (tag == BinaryLogFormat.MAGIC[0]) {
+                    readSegmentHeader();
+                } else if (tag == BinaryLogFormat.EVENT && inSegment) {
+                    return readEvent();
+                } else {
+                    throw new IOException("Not a binary log record: " + tag);
+                }
+            } catch (EOFException e) {
+                // The writer stopped mid-record
+                return null;
+            }
+        }
+    }
+
+    private void readSegmentHeader() throws IOException {
+        for (int i = 1; i < BinaryLogFormat.MAGIC.length; i++) {
+            if (readByte() != BinaryLogFormat.MAGIC[i]) {
+                throw new IOException("Not a binary log file");
+            }
+        }
+        int version = readByte();
+        if (version != BinaryLogFormat.VERSION) {
+            throw new IOException("Unsupported binary log version " + version);
+        }
+        strings.clear();
+        previousEpochNanos = 0;
+        inSegment = true;
+    }
+
+    private LogEvent readEvent() throws IOException {
+        int levelOrdinal = readByte();
+        if (levelOrdinal >= LEVELS.length) {
+            throw new IOException("Unknown level " + levelOrdinal);
+        }
+        Level level = LEVELS[levelOrdinal];
+        long time = readVarint();
+        long delta = (time & 1) == 0
+                ? unzigzag(time >>> 1) * BinaryLogFormat.NANOS_PER_MILLI
+                : unzigzag(time >>> 1);
+        previousEpochNanos += delta;
+        String threadName = readStringRef();
+        String loggerName = readStringRef();
+        String message = readStringRef();
+
+        int parameterCount = (int) readVarint();
+        Object[] parameters = parameterCount == 0 ? null : new Object[parameterCount];
+        for (int i = 0; i < parameterCount; i++) {
+            parameters[i] = readParameter();
+        }
+
+        int contextSize = (int) readVarint();
+        Map<String, String> context = contextSize == 0 ? Collections.emptyMap() : new LinkedHashMap<>();
+        for (int i = 0; i < contextSize; i++) {
+            context.put(readStringRef(), readString());
+        }
+
+        Throwable throwable = readByte() == 0 ? null : new RecordedThrowable(readString());
+        return new LogEvent(level, previousEpochNanos, loggerName, threadName, message, parameters,
+                throwable, context);
+    }
+
+    private Object readParameter() throws IOException {
+        int type = readByte();
+        switch (type) {
+            case BinaryLogFormat.NULL:
+                return null;
+            case BinaryLogFormat.STRING:
+                return readString();
+            case BinaryLogFormat.INTEGER:
+                return unzigzag(readVarint());
+            case BinaryLogFormat.DOUBLE:
+                long bits = 0;
+                for (int i = 0; i < 8; i++) {
+                    bits = bits << 8 | readByte();
+                }
+                return Double.longBitsToDouble(bits);
+            case BinaryLogFormat.TRUE:
+                return Boolean.TRUE;
+            case BinaryLogFormat.FALSE:
+                return Boolean.FALSE;
+            default:
+                throw new IOException("Unknown parameter type " + type);
+        }
+    }
+
+    private String readStringRef() throws IOException {
+        long ref = readVarint();
+        if (ref != 0) {
+            if (ref > strings.size()) {
+                throw new IOException("Unknown string id " + (ref - 1));
+            }
+            return strings.get((int) (ref - 1));
+        }
+        String value = readString();
+        // Same rule as the writer, so ids line up
+        if (strings.size() < BinaryLogFormat.MAX_STRING_TABLE_SIZE) {
+            strings.add(value);
+        }
+        return value;
+    }
+
+    private String readString() throws IOException {
+        long length = readVarint();
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("String too long: " + length);
+        }
+        byte[] bytes = in.readNBytes((int) length);
+        if (bytes.length < length) {
+            throw new EOFException();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b < 0) {
+            throw new EOFException();
+        }
+        return b;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Renders every event in a binary log as text.
+     *
+     * @param in            the binary log
+     * @param out           where to write the lines
+     * @param messageFormat the layout, as for {@code LoggerConfig.withMessageFormat}
+     * @param timeFormat    the timestamp pattern, as for {@code LoggerConfig.withDateFormat}
+     * @return the number of events rendered
+     * @throws IOException if the log cannot be read or the lines cannot be written
+     */
+    public static long render(InputStream in, Writer out, String messageFormat, String timeFormat)
+            throws IOException {
+        MessageTemplate template = MessageTemplate.compile(messageFormat, TimestampFormatter.ofPattern(timeFormat));
+        String lineSeparator = System.lineSeparator();
+        long events = 0;
+        try (BinaryLogReader reader = new BinaryLogReader(in)) {
+            LogEvent event;
+            while ((event = reader.next()) != null) {
+                out.write(template.format(event));
+                out.write(lineSeparator);
+                events++;
+            }
+        }
+        out.flush();
+        return events;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Usage: BinaryLogReader <file> [messageFormat] [timeFormat]");
+            System.exit(2);
+        }
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        render(Files.newInputStream(Paths.get(args[0])), out,
+                args.length > 1 ? args[1] : DEFAULT_MESSAGE_FORMAT,
+                args.length > 2 ? args[2] : DEFAULT_TIME_FORMAT);
+    }
+
+    // Prints the stack trace captured when the event was written
+    private static final class RecordedThrowable extends Throwable {
+        private static final long serialVersionUID = 1L;
+
+        private final String stackTrace;
+
+        RecordedThrowable(String stackTrace) {
+            super(null, null, false, false);
+            this.stackTrace = stackTrace;
+        }
+
+        @Override
+        public void printStackTrace(PrintWriter s) {
+            s.print(stackTrace);
+        }
+
+        @Override
+        public String toString() {
+            int end = stackTrace.indexOf('\n');
+            return (end < 0 ? stackTrace : stackTrace.substring(0, end)).trim();
+        }
+    }
+}
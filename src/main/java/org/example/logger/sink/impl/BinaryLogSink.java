@@ -0,0 +1,286 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.LogEvent;
+import org.example.logger.format.ParameterFormatter;
+import org.example.logger.format.ThrowableRenderer;
+import org.example.logger.sink.LogEventSink;
+import org.example.logger.sink.Syncable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes events in a compact binary form instead of formatted text: a level byte, the time
+ * as a varint delta from the previous event, ids from a per-file string table for logger
+ * names, thread names, message patterns and MDC keys, and the raw parameters. See
+ * {@link BinaryLogFormat} for the layout and {@link BinaryLogReader} to render the file as text.
+ * <p>
+ * Patterns only repeat when parameters reach the sink unformatted, so in async mode use
+ * {@code withDeferredParameterFormatting(true)}; otherwise each formatted message is a new string.
+ * <p>
+ * Not thread-safe on its own; the logger only calls a sink from one thread at a time.
+ */
+public class BinaryLogSink extends LogEventSink implements Syncable, Closeable {
+    // Pending bytes are written once they pass this, even without autoFlush
+    private static final int WRITE_THRESHOLD = 64 * 1024;
+
+    private final String logFilePath;
+    private final FileChannel channel;
+    private final boolean autoFlush;
+    private final ThrowableRenderer throwableRenderer;
+    private final StringBuilder stackTrace = new StringBuilder();
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private long previousEpochNanos;
+    // Encoded bytes not yet written
+    private byte[] buffer = new byte[WRITE_THRESHOLD * 2];
+    private int count;
+    // The first write that failed since the last sync
+    private IOException writeFailure;
+
+    /**
+     * @param sinkLevel   minimum level to log
+     * @param logFilePath path to the log file
+     * @param append      whether to append a new segment to an existing file or overwrite it
+     * @param autoFlush   whether to write to the file after each event, or async batch
+     * @throws IOException if there's an error creating or opening the log file
+     */
+    public BinaryLogSink(Level sinkLevel, String logFilePath, boolean append, boolean autoFlush) throws IOException {
+        this(sinkLevel, logFilePath, append, autoFlush, ThrowableRenderer.FULL);
+    }
+
+    /**
+     * @param throwableRenderer how stack traces are recorded, as for {@code LoggerConfig.withThrowableRendering};
+     *                          the trace is stored as rendered, since the reader has no throwable to render
+     */
+    public BinaryLogSink(Level sinkLevel, String logFilePath, boolean append, boolean autoFlush,
+                         ThrowableRenderer throwableRenderer) throws IOException {
+        super(sinkLevel);
+        this.logFilePath = logFilePath;
+        this.autoFlush = autoFlush;
+        this.throwableRenderer = throwableRenderer;
+
+        // Create directory if it doesn't exist
+        Path path = Paths.get(logFilePath);
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        this.channel = append
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        // Every segment starts with an empty string table, so appending needs no earlier state
+        writeBytes(BinaryLogFormat.MAGIC);
+        writeByte(BinaryLogFormat.VERSION);
+    }
+
+    @Override
+    public void consumeEvent(LogEvent event) {
+        writeByte(BinaryLogFormat.EVENT);
+        writeByte(event.getLevel().ordinal());
+        writeTime(event.getEpochNanos());
+        writeStringRef(event.getThreadName());
+        writeStringRef(event.getLoggerName());
+        writeStringRef(event.getMessage());
+
+        int parameterCount = event.getParameterCount();
+        writeVarint(parameterCount);
+        for (int i = 0; i < parameterCount; i++) {
+            writeParameter(event.getParameter(i));
+        }
+
+        Map<String, String> context = event.getContextMap();
+        writeVarint(context.size());
+        for (Map.Entry<String, String> entry : context.entrySet()) {
+            writeStringRef(entry.getKey());
+            writeString(entry.getValue());
+        }
+
+        Throwable throwable = event.getThrowable();
+        if (throwable == null) {
+            writeByte(0);
+        } else {
+            writeByte(1);
+            stackTrace.setLength(0);
+            throwableRenderer.renderTo(stackTrace, throwable, event.getEpochMillis());
+            writeString(stackTrace.toString());
+        }
+
+        if (count >= WRITE_THRESHOLD) {
+            writeBuffer();
+        }
+    }
+
+    @Override
+    public void endOfBatch() {
+        if (autoFlush) {
+            writeBuffer();
+        }
+    }
+
+    // Whole milliseconds, the usual clock precision, cost one bit; anything else is kept exact
+    private void writeTime(long epochNanos) {
+        long delta = epochNanos - previousEpochNanos;
+        previousEpochNanos = epochNanos;
+        if (delta % BinaryLogFormat.NANOS_PER_MILLI == 0) {
+            writeVarint(zigzag(delta / BinaryLogFormat.NANOS_PER_MILLI) << 1);
+        } else {
+            writeVarint(zigzag(delta) << 1 | 1);
+        }
+    }
+
+    private void writeParameter(Object parameter) {
+        if (parameter == null) {
+            writeByte(BinaryLogFormat.NULL);
+        } else if (parameter instanceof Integer || parameter instanceof Long
+                || parameter instanceof Short || parameter instanceof Byte) {
+            writeByte(BinaryLogFormat.INTEGER);
+            writeVarint(zigzag(((Number) parameter).longValue()));
+        } else if (parameter instanceof Double) {
+            writeByte(BinaryLogFormat.DOUBLE);
+            long bits = Double.doubleToRawLongBits((Double) parameter);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                writeByte((int) (bits >>> shift));
+            }
+        } else if (parameter instanceof Boolean) {
+            writeByte((Boolean) parameter ? BinaryLogFormat.TRUE : BinaryLogFormat.FALSE);
+        } else {
+            // Rendered exactly as the text layout would, e.g. arrays element by element
+            writeByte(BinaryLogFormat.STRING);
+            writeString(parameter instanceof String ? (String) parameter : ParameterFormatter.format("{}", parameter));
+        }
+    }
+
+    private void writeStringRef(String value) {
+        if (value == null) {
+            value = "";
+        }
+        Integer id = stringIds.get(value);
+        if (id != null) {
+            writeVarint(id + 1L);
+            return;
+        }
+        writeVarint(0);
+        writeString(value);
+        if (stringIds.size() < BinaryLogFormat.MAX_STRING_TABLE_SIZE) {
+            stringIds.put(value, stringIds.size());
+        }
+    }
+
+    private void writeString(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                writeVarint(utf8.length);
+                writeBytes(utf8);
+                return;
+            }
+        }
+        // ASCII: one byte per char, no intermediate array
+        writeVarint(length);
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[count++] = (byte) value.charAt(i);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[count++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[count++] = (byte) value;
+    }
+
+    private void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[count++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (count + extra > buffer.length) {
+            byte[] grown = new byte[Math.max(buffer.length * 2, count + extra)];
+            System.arraycopy(buffer, 0, grown, 0, count);
+            buffer = grown;
+        }
+    }
+
+    private void writeBuffer() {
+        if (count == 0) {
+            return;
+        }
+        try {
+            ByteBuffer pending = ByteBuffer.wrap(buffer, 0, count);
+            while (pending.hasRemaining()) {
+                channel.write(pending);
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing to log file: " + logFilePath + ": " + e);
+            if (writeFailure == null) {
+                writeFailure = e;
+            }
+        } finally {
+            count = 0;
+            if (buffer.length > WRITE_THRESHOLD * 2) {
+                // Don't keep a huge buffer around after one oversized event
+                buffer = new byte[WRITE_THRESHOLD * 2];
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        writeBuffer();
+    }
+
+    /**
+     * Writes the buffered events and forces them to the storage device. Fails if a write
+     * since the last sync failed, since those events are lost.
+     */
+    @Override
+    public void sync() throws IOException {
+        writeBuffer();
+        IOException failure = writeFailure;
+        if (failure != null) {
+            writeFailure = null;
+            throw new IOException("Events were lost writing to log file: " + logFilePath, failure);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Writes any buffered events and closes the log file.
+     */
+    public void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing log file: " + logFilePath + ": " + e);
+        }
+    }
+}
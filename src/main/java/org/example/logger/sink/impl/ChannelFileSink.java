@@ -0,0 +1,198 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.sink.Syncable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file sink that writes UTF-8 through a {@link FileChannel}.
+ * <p>
+ * Lines are encoded straight into a set of direct buffers: ASCII text is copied byte for
+ * byte, anything else goes through one reused UTF-8 encoder. Full buffers, and each
+ * async batch, are written with a single gathering write.
+ * <p>
+ * Not thread-safe on its own; the logger only calls a sink from one thread at a time.
+ */
+public class ChannelFileSink extends Utf8FileSink implements Syncable, Closeable {
+    /**
+     * Default total size of the direct buffers.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+    private static final int SEGMENTS = 4;
+
+    private final String logFilePath;
+    private final FileChannel channel;
+    private final boolean autoFlush;
+    private final ByteBuffer[] segments;
+    // Index of the segment currently being filled
+    private int current;
+    // Bytes in the file, not counting the buffers
+    private long written;
+    // The first write that failed since the last sync
+    private IOException writeFailure;
+
+    /**
+     * Creates a channel file sink with a {@link #DEFAULT_BUFFER_SIZE} buffer
+     *
+     * @param sinkLevel   minimum level to log
+     * @param logFilePath path to the log file
+     * @param append      whether to append to existing file or overwrite
+     * @param autoFlush   whether to write to the file after each message, or async batch
+     * @throws IOException if there's an error creating or opening the log file
+     */
+    public ChannelFileSink(Level sinkLevel, String logFilePath, boolean append, boolean autoFlush) throws IOException {
+        this(sinkLevel, logFilePath, append, autoFlush, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize total size of the direct buffers, split into {@value #SEGMENTS} segments
+     */
+    public ChannelFileSink(Level sinkLevel, String logFilePath, boolean append, boolean autoFlush,
+                           int bufferSize) throws IOException {
+        super(sinkLevel);
+        this.logFilePath = logFilePath;
+        this.autoFlush = autoFlush;
+
+        // Create directory if it doesn't exist
+        Path path = Paths.get(logFilePath);
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        this.channel = append
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.written = channel.size();
+
+        int segmentSize = Math.max(64, bufferSize / SEGMENTS);
+        this.segments = new ByteBuffer[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = ByteBuffer.allocateDirect(segmentSize);
+        }
+    }
+
+    @Override
+    public void consumeMessage(Level level, String oneMessage) {
+        if (ignoreMessageAtLevel(level)) {
+            return;
+        }
+        appendLine(oneMessage);
+        if (autoFlush) {
+            writeBuffers();
+        }
+    }
+
+    /**
+     * Encodes the whole batch into the buffers; with autoFlush it is written in {@link #endOfBatch()}.
+     */
+    @Override
+    public void consumeBatch(Level[] levels, String[] messages, int count) {
+        for (int i = 0; i < count; i++) {
+            if (!ignoreMessageAtLevel(levels[i])) {
+                appendLine(messages[i]);
+            }
+        }
+    }
+
+    @Override
+    public void endOfBatch() {
+        if (autoFlush) {
+            writeBuffers();
+        }
+    }
+
+    // The segment being filled, moving on first if it is full
+    @Override
+    ByteBuffer writableBuffer() {
+        if (!segments[current].hasRemaining()) {
+            nextBuffer();
+        }
+        return segments[current];
+    }
+
+    @Override
+    void nextBuffer() {
+        if (current < segments.length - 1) {
+            current++;
+        } else {
+            writeBuffers();
+        }
+    }
+
+    // One gathering write of every filled segment; a failed write drops the lines and fails the next sync()
+    private void writeBuffers() {
+        int used = current + 1;
+        if (used == 1 && segments[0].position() == 0) {
+            return;
+        }
+        try {
+            for (int i = 0; i < used; i++) {
+                segments[i].flip();
+            }
+            while (segments[current].hasRemaining()) {
+                written += channel.write(segments, 0, used);
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing to log file: " + logFilePath + ": " + e);
+            if (writeFailure == null) {
+                writeFailure = e;
+            }
+        } finally {
+            for (int i = 0; i < used; i++) {
+                segments[i].clear();
+            }
+            current = 0;
+        }
+    }
+
+    @Override
+    public void flush() {
+        writeBuffers();
+    }
+
+    /**
+     * Writes the buffered lines and forces them to the storage device. Fails if a write since
+     * the last sync failed, since those lines are lost.
+     */
+    @Override
+    public void sync() throws IOException {
+        writeBuffers();
+        IOException failure = writeFailure;
+        if (failure != null) {
+            writeFailure = null;
+            throw new IOException("Lines were lost writing to log file: " + logFilePath, failure);
+        }
+        channel.force(false);
+    }
+
+    // Size of the file once the buffers are written, without a system call
+    long length() {
+        long length = written;
+        for (int i = 0; i <= current; i++) {
+            length += segments[i].position();
+        }
+        return length;
+    }
+
+    /**
+     * Writes any buffered lines and closes the log file.
+     */
+    public void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing log file: " + logFilePath + ": " + e);
+        }
+    }
+}
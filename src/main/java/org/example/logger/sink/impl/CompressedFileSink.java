@@ -0,0 +1,253 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.LogEvent;
+import org.example.logger.format.MessageTemplate;
+import org.example.logger.format.ThrowableRenderer;
+import org.example.logger.format.TimestampFormatter;
+import org.example.logger.sink.LogEventSink;
+import org.example.logger.sink.Syncable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Writes formatted lines to a file as independently compressed blocks, each tagged with the
+ * time range of its lines, and an index of the blocks on close. {@link CompressedLogReader}
+ * can then read the lines of a time range by decompressing only the blocks that overlap it.
+ * See {@link CompressedLogFormat} for the layout.
+ * <p>
+ * Lines are compressed with {@link Deflater} on the thread that writes them, once about
+ * {@code blockSize} characters have collected. Larger blocks compress better; lines not yet
+ * in a block are written by {@link #flush()} as a smaller block, and are lost in a crash.
+ * <p>
+ * Not thread-safe on its own; the logger only calls a sink from one thread at a time.
+ */
+public class CompressedFileSink extends LogEventSink implements Syncable, Closeable {
+    /**
+     * Default uncompressed block size, in characters.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final String logFilePath;
+    private final FileChannel channel;
+    private final MessageTemplate template;
+    private final int blockSize;
+    private final Deflater deflater;
+    private final List<CompressedLogFormat.Block> blocks;
+    private long position;
+    // The block being collected, and the time range of its lines
+    private final StringBuilder pending;
+    private long firstMillis;
+    private long lastMillis;
+    private byte[] compressed = new byte[8192];
+    private boolean closed;
+    // The first block write that failed since the last sync
+    private IOException writeFailure;
+
+    /**
+     * Creates a compressed file sink with {@link #DEFAULT_BLOCK_SIZE} blocks at the default compression level
+     *
+     * @param sinkLevel     minimum level to log
+     * @param logFilePath   path to the log file
+     * @param messageFormat the line layout, as for {@code LoggerConfig.withMessageFormat}
+     * @param timeFormat    the timestamp pattern, as for {@code LoggerConfig.withDateFormat}
+     * @param append        whether to add blocks to an existing file or overwrite it
+     * @throws IOException if there's an error creating or opening the log file
+     */
+    public CompressedFileSink(Level sinkLevel, String logFilePath, String messageFormat, String timeFormat,
+                              boolean append) throws IOException {
+        this(sinkLevel, logFilePath, messageFormat, timeFormat, append, Deflater.DEFAULT_COMPRESSION,
+                DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param compressionLevel {@link Deflater} level, 1 (fastest) to 9 (smallest), or -1 for the default
+     * @param blockSize        uncompressed characters collected before a block is compressed
+     */
+    public CompressedFileSink(Level sinkLevel, String logFilePath, String messageFormat, String timeFormat,
+                              boolean append, int compressionLevel, int blockSize) throws IOException {
+        this(sinkLevel, logFilePath, messageFormat, timeFormat, append, compressionLevel, blockSize,
+                ThrowableRenderer.FULL);
+    }
+
+    /**
+     * @param throwableRenderer how stack traces are printed, as for {@code LoggerConfig.withThrowableRendering}
+     */
+    public CompressedFileSink(Level sinkLevel, String logFilePath, String messageFormat, String timeFormat,
+                              boolean append, int compressionLevel, int blockSize,
+                              ThrowableRenderer throwableRenderer) throws IOException {
+        super(sinkLevel);
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between -1 and 9");
+        }
+        this.logFilePath = logFilePath;
+        this.template = MessageTemplate.compile(messageFormat, TimestampFormatter.ofPattern(timeFormat),
+                throwableRenderer);
+        this.blockSize = Math.max(1024, blockSize);
+        this.pending = new StringBuilder(this.blockSize + 256);
+        this.deflater = new Deflater(compressionLevel);
+
+        // Create directory if it doesn't exist
+        Path path = Paths.get(logFilePath);
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        this.channel = append
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            CompressedLogFormat.Index index = CompressedLogFormat.readIndex(channel);
+            // Drop the old footer, or a block cut short by a crash; close writes a new footer
+            this.blocks = index.blocks;
+            channel.truncate(index.dataEnd);
+            position = index.dataEnd;
+            channel.position(position);
+            if (position == 0) {
+                write(ByteBuffer.wrap(CompressedLogFormat.MAGIC));
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void consumeEvent(LogEvent event) {
+        long millis = event.getEpochMillis();
+        if (pending.length() == 0) {
+            firstMillis = millis;
+            lastMillis = millis;
+        } else {
+            // Events can arrive slightly out of order across threads
+            firstMillis = Math.min(firstMillis, millis);
+            lastMillis = Math.max(lastMillis, millis);
+        }
+        template.formatTo(pending, event);
+        pending.append(LINE_SEPARATOR);
+        if (pending.length() >= blockSize) {
+            writeBlock();
+        }
+    }
+
+    private void writeBlock() {
+        if (pending.length() == 0) {
+            return;
+        }
+        byte[] text = pending.toString().getBytes(StandardCharsets.UTF_8);
+        pending.setLength(0);
+
+        deflater.reset();
+        deflater.setInput(text);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                byte[] grown = new byte[compressed.length * 2];
+                System.arraycopy(compressed, 0, grown, 0, length);
+                compressed = grown;
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(CompressedLogFormat.BLOCK_HEADER_SIZE)
+                .put(CompressedLogFormat.BLOCK)
+                .putInt(length)
+                .putInt(text.length)
+                .putLong(firstMillis)
+                .putLong(lastMillis)
+                .flip();
+        long blockOffset = position;
+        try {
+            write(header, ByteBuffer.wrap(compressed, 0, length));
+            blocks.add(new CompressedLogFormat.Block(blockOffset, firstMillis, lastMillis));
+        } catch (IOException e) {
+            System.err.println("Error writing to log file: " + logFilePath + ": " + e);
+            if (writeFailure == null) {
+                writeFailure = e;
+            }
+        }
+    }
+
+    private void write(ByteBuffer... buffers) throws IOException {
+        ByteBuffer last = buffers[buffers.length - 1];
+        while (last.hasRemaining()) {
+            position += channel.write(buffers);
+        }
+    }
+
+    /**
+     * Compresses the lines collected so far into a block and writes it.
+     */
+    @Override
+    public void flush() {
+        if (!closed) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Writes the collected lines as a block and forces the file to the storage device. Fails
+     * if a block written since the last sync was lost.
+     */
+    @Override
+    public void sync() throws IOException {
+        flush();
+        IOException failure = writeFailure;
+        if (failure != null) {
+            writeFailure = null;
+            throw new IOException("Lines were lost writing to log file: " + logFilePath, failure);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Writes the remaining lines and the block index, then closes the file.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        try {
+            ByteBuffer footer = ByteBuffer.allocate(CompressedLogFormat.FOOTER_OVERHEAD
+                    + blocks.size() * CompressedLogFormat.INDEX_ENTRY_SIZE);
+            footer.put(CompressedLogFormat.INDEX).putInt(blocks.size());
+            for (CompressedLogFormat.Block block : blocks) {
+                footer.putLong(block.offset).putLong(block.firstMillis).putLong(block.lastMillis);
+            }
+            footer.putLong(position).put(CompressedLogFormat.FOOTER_MAGIC).flip();
+            write(footer);
+        } catch (IOException e) {
+            System.err.println("Error writing log file index: " + logFilePath + ": " + e);
+        } finally {
+            deflater.end();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing log file: " + logFilePath + ": " + e);
+            }
+        }
+    }
+
+    /**
+     * @return the number of blocks written to the file so far
+     */
+    public int getBlockCount() {
+        return blocks.size();
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.logger.sink.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Layout of the files written by {@link CompressedFileSink} and read by {@link CompressedLogReader}.
+ * <pre>
+ * header: 'W' 'L' 'Z' version
+ * block:  'B' compressedLength(int) textLength(int) firstMillis(long) lastMillis(long) zlib data
+ * footer: 'I' blockCount(int) (offset(long) firstMillis(long) lastMillis(long))* footerOffset(long) 'W' 'L' 'Z' 'I'
+ * </pre>
+ * Each block is compressed on its own, so any block can be read without the ones before
+ * it. The footer, written on close, indexes the blocks; without it, the blocks are found by
+ * hopping from one block header to the next without decompressing anything.
+ */
+final class CompressedLogFormat {
+    static final byte[] MAGIC = {'W', 'L', 'Z', 1};
+    static final byte[] FOOTER_MAGIC = {'W', 'L', 'Z', 'I'};
+    static final byte BLOCK = 'B';
+    static final byte INDEX = 'I';
+    static final int BLOCK_HEADER_SIZE = 1 + 4 + 4 + 8 + 8;
+    static final int INDEX_ENTRY_SIZE = 8 + 8 + 8;
+    // 'I' and blockCount before the entries, footerOffset and magic after them
+    static final int FOOTER_OVERHEAD = 1 + 4 + 8 + FOOTER_MAGIC.length;
+
+    private CompressedLogFormat() {
+    }
+
+    /**
+     * Where a block starts and the time range of its lines.
+     */
+    static final class Block {
+        final long offset;
+        final long firstMillis;
+        final long lastMillis;
+
+        Block(long offset, long firstMillis, long lastMillis) {
+            this.offset = offset;
+            this.firstMillis = firstMillis;
+            this.lastMillis = lastMillis;
+        }
+    }
+
+    /**
+     * The blocks of a file and where new blocks should go.
+     */
+    static final class Index {
+        final List<Block> blocks;
+        // Just after the last complete block: a footer or a block cut short by a crash starts here
+        final long dataEnd;
+
+        Index(List<Block> blocks, long dataEnd) {
+            this.blocks = blocks;
+            this.dataEnd = dataEnd;
+        }
+    }
+
+    /**
+     * Reads the footer if the file has one, otherwise walks the block headers.
+     *
+     * @throws IOException if the file cannot be read or is not a compressed log
+     */
+    static Index readIndex(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < MAGIC.length) {
+            // Empty, or the header itself was cut short
+            return new Index(new ArrayList<>(), 0);
+        }
+        ByteBuffer header = readFully(channel, 0, MAGIC.length);
+        for (byte b : MAGIC) {
+            if (header.get() != b) {
+                throw new IOException("Not a compressed log file");
+            }
+        }
+        Index footer = readFooter(channel, size);
+        return footer != null ? footer : scanBlocks(channel, size);
+    }
+
+    private static Index readFooter(FileChannel channel, long size) throws IOException {
+        if (size < MAGIC.length + FOOTER_OVERHEAD) {
+            return null;
+        }
+        ByteBuffer tail = readFully(channel, size - 12, 12);
+        long footerOffset = tail.getLong();
+        for (byte b : FOOTER_MAGIC) {
+            if (tail.get() != b) {
+                return null;
+            }
+        }
+        if (footerOffset < MAGIC.length || footerOffset > size - FOOTER_OVERHEAD) {
+            return null;
+        }
+        ByteBuffer footer = readFully(channel, footerOffset, 5);
+        int count = footer.get() == INDEX ? footer.getInt() : -1;
+        if (count < 0 || footerOffset + FOOTER_OVERHEAD + (long) count * INDEX_ENTRY_SIZE != size) {
+            // Log data that happens to end like a footer
+            return null;
+        }
+        ByteBuffer entries = readFully(channel, footerOffset + 5, (long) count * INDEX_ENTRY_SIZE);
+        List<Block> blocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            blocks.add(new Block(entries.getLong(), entries.getLong(), entries.getLong()));
+        }
+        return new Index(blocks, footerOffset);
+    }
+
+    private static Index scanBlocks(FileChannel channel, long size) throws IOException {
+        List<Block> blocks = new ArrayList<>();
+        long offset = MAGIC.length;
+        while (offset + BLOCK_HEADER_SIZE <= size) {
+            ByteBuffer header = readFully(channel, offset, BLOCK_HEADER_SIZE);
+            if (header.get() != BLOCK) {
+                break;
+            }
+            int compressedLength = header.getInt();
+            header.getInt();
+            long end = offset + BLOCK_HEADER_SIZE + compressedLength;
+            if (compressedLength < 0 || end > size) {
+                break;
+            }
+            blocks.add(new Block(offset, header.getLong(), header.getLong()));
+            offset = end;
+        }
+        return new Index(blocks, offset);
+    }
+
+    static ByteBuffer readFully(FileChannel channel, long position, long length) throws IOException {
+        if (length < 0 || length > Integer.MAX_VALUE || position < 0 || position + length > channel.size()) {
+            throw new IOException("Corrupt compressed log: " + length + " bytes at " + position);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of compressed log");
+            }
+        }
+        return buffer.flip();
+    }
+}
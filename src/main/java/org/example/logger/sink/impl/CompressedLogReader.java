@@ -0,0 +1,160 @@
+package org.example.logger.sink.impl;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads the lines written by {@link CompressedFileSink}, decompressing only the blocks whose
+ * time range overlaps the one asked for. From the command line:
+ * <pre>
+ * java -cp weirdloggingLibrary.jar org.example.logger.sink.impl.CompressedLogReader app.wlz \
+ *     [2024-05-01T10:00:00Z] [2024-05-01T11:00:00Z]
+ * </pre>
+ * Ranges are matched per block, so a block that overlaps the range is returned whole.
+ */
+public class CompressedLogReader implements Closeable {
+    private final FileChannel channel;
+    private final List<CompressedLogFormat.Block> blocks;
+    private final Inflater inflater = new Inflater();
+    private int blocksRead;
+
+    /**
+     * @param path the compressed log, with or without its block index
+     * @throws IOException if the file cannot be read or is not a compressed log
+     */
+    public CompressedLogReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.blocks = CompressedLogFormat.readIndex(channel).blocks;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the number of blocks in the file
+     */
+    public int getBlockCount() {
+        return blocks.size();
+    }
+
+    /**
+     * @return the number of blocks decompressed so far
+     */
+    public int getBlocksRead() {
+        return blocksRead;
+    }
+
+    /**
+     * Reads the lines of every block with lines logged between the two times, inclusive.
+     *
+     * @param fromMillis start of the range, in epoch milliseconds
+     * @param toMillis   end of the range, in epoch milliseconds
+     * @return the lines of the overlapping blocks, in file order
+     * @throws IOException if a block cannot be read or decompressed
+     */
+    public List<String> readLines(long fromMillis, long toMillis) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (CompressedLogFormat.Block block : blocks) {
+            if (block.lastMillis >= fromMillis && block.firstMillis <= toMillis) {
+                splitLines(readBlock(block), lines);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * @return every line in the file
+     * @throws IOException if a block cannot be read or decompressed
+     */
+    public List<String> readAllLines() throws IOException {
+        return readLines(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    private String readBlock(CompressedLogFormat.Block block) throws IOException {
+        ByteBuffer header = CompressedLogFormat.readFully(channel, block.offset, CompressedLogFormat.BLOCK_HEADER_SIZE);
+        if (header.get() != CompressedLogFormat.BLOCK) {
+            throw new IOException("No block at " + block.offset);
+        }
+        int compressedLength = header.getInt();
+        int textLength = header.getInt();
+        if (textLength < 0) {
+            throw new IOException("Corrupt block at " + block.offset);
+        }
+        ByteBuffer data = CompressedLogFormat.readFully(channel,
+                block.offset + CompressedLogFormat.BLOCK_HEADER_SIZE, compressedLength);
+
+        byte[] text = new byte[textLength];
+        inflater.reset();
+        inflater.setInput(data);
+        try {
+            int length = 0;
+            while (length < textLength && !inflater.finished()) {
+                int n = inflater.inflate(text, length, textLength - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != textLength) {
+                throw new IOException("Block at " + block.offset + " is shorter than its header says");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block at " + block.offset, e);
+        }
+        blocksRead++;
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    private static void splitLines(String text, List<String> lines) {
+        int start = 0;
+        int length = text.length();
+        while (start < length) {
+            int end = text.indexOf('\n', start);
+            if (end < 0) {
+                end = length;
+            }
+            int lineEnd = end > start && text.charAt(end - 1) == '\r' ? end - 1 : end;
+            lines.add(text.substring(start, lineEnd));
+            start = end + 1;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        channel.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Usage: CompressedLogReader <file> [fromInstant] [toInstant]");
+            System.exit(2);
+        }
+        long from = args.length > 1 ? Instant.parse(args[1]).toEpochMilli() : Long.MIN_VALUE;
+        long to = args.length > 2 ? Instant.parse(args[2]).toEpochMilli() : Long.MAX_VALUE;
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try (CompressedLogReader reader = new CompressedLogReader(Paths.get(args[0]))) {
+            for (String line : reader.readLines(from, to)) {
+                out.write(line);
+                out.write(System.lineSeparator());
+            }
+        }
+        out.flush();
+    }
+}
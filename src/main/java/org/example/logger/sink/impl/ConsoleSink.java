@@ -0,0 +1,157 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A console sink that writes UTF-8 straight to the process's standard output, bypassing
+ * {@link System#out} and the lock and flush it takes for every line.
+ * <p>
+ * Lines are encoded into one buffer and written with a single call per line, or per async
+ * batch. Lines at or above {@code stderrLevel} can go to standard error instead; the buffer
+ * is written out whenever the target changes, so the two streams stay in logging order.
+ * <p>
+ * Not thread-safe on its own; the logger only calls a sink from one thread at a time.
+ */
+public class ConsoleSink extends Utf8FileSink {
+    /**
+     * Default size of the buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private final OutputStream err;
+    private final Level stderrLevel;
+    // Encoded once, copied in front of every line
+    private final byte[] prefix;
+    private final boolean autoFlush;
+    private final ByteBuffer buffer;
+    // Where the buffered bytes go
+    private OutputStream target;
+
+    /**
+     * Creates a console sink that writes every line to standard output without a prefix
+     *
+     * @param sinkLevel minimum level to log
+     */
+    public ConsoleSink(Level sinkLevel) {
+        this(sinkLevel, null, "", true);
+    }
+
+    /**
+     * @param sinkLevel   minimum level to log
+     * @param stderrLevel lines at or above this level go to standard error, or null to send everything to standard output
+     * @param prefix      text written before every line, e.g. {@code "StdOutSink - "}, or empty for none
+     * @param autoFlush   whether to write after each message, or async batch
+     */
+    public ConsoleSink(Level sinkLevel, Level stderrLevel, String prefix, boolean autoFlush) {
+        this(sinkLevel, stderrLevel, prefix, autoFlush, new FileOutputStream(FileDescriptor.out),
+                new FileOutputStream(FileDescriptor.err), DEFAULT_BUFFER_SIZE);
+    }
+
+    ConsoleSink(Level sinkLevel, Level stderrLevel, String prefix, boolean autoFlush,
+                OutputStream out, OutputStream err, int bufferSize) {
+        super(sinkLevel);
+        if (prefix == null) {
+            throw new IllegalArgumentException("Prefix cannot be null; use \"\" for none");
+        }
+        this.stderrLevel = stderrLevel;
+        this.prefix = prefix.getBytes(StandardCharsets.UTF_8);
+        this.autoFlush = autoFlush;
+        this.out = out;
+        this.err = err;
+        this.target = out;
+        this.buffer = ByteBuffer.allocate(Math.max(1024, bufferSize));
+    }
+
+    @Override
+    public void consumeMessage(Level level, String oneMessage) {
+        if (ignoreMessageAtLevel(level)) {
+            return;
+        }
+        append(level, oneMessage);
+        if (autoFlush) {
+            writeBuffer();
+        }
+    }
+
+    /**
+     * Encodes the whole batch into the buffer; with autoFlush it is written in {@link #endOfBatch()}.
+     */
+    @Override
+    public void consumeBatch(Level[] levels, String[] messages, int count) {
+        for (int i = 0; i < count; i++) {
+            if (!ignoreMessageAtLevel(levels[i])) {
+                append(levels[i], messages[i]);
+            }
+        }
+    }
+
+    @Override
+    public void endOfBatch() {
+        if (autoFlush) {
+            writeBuffer();
+        }
+    }
+
+    private void append(Level level, String message) {
+        OutputStream stream = stderrLevel != null && level.ordinal() >= stderrLevel.ordinal() ? err : out;
+        if (stream != target) {
+            writeBuffer();
+            target = stream;
+        }
+        if (prefix.length > 0) {
+            appendBytes(prefix);
+        }
+        appendLine(message);
+    }
+
+    private void appendBytes(byte[] bytes) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ByteBuffer buffer = writableBuffer();
+            int n = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    @Override
+    ByteBuffer writableBuffer() {
+        if (!buffer.hasRemaining()) {
+            nextBuffer();
+        }
+        return buffer;
+    }
+
+    @Override
+    void nextBuffer() {
+        writeBuffer();
+    }
+
+    private void writeBuffer() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        try {
+            target.write(buffer.array(), 0, buffer.position());
+            target.flush();
+        } catch (IOException e) {
+            // Standard error may be the broken stream, but it is the only place left to report it
+            System.err.println("Error writing to console: " + e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public void flush() {
+        writeBuffer();
+    }
+}
@@ -2,10 +2,13 @@ package org.example.logger.sink.impl;
 
 import org.example.logger.Level;
 import org.example.logger.sink.LogMessageSink;
+import org.example.logger.sink.Syncable;
 
 import java.io.BufferedWriter;
-import java.io.FileWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -14,8 +17,11 @@ import java.nio.file.Paths;
 /**
  * A synchronous file-based logging sink implementation
  */
-public class FileSink extends LogMessageSink {
+public class FileSink extends LogMessageSink implements Syncable, Closeable {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
     private final String logFilePath;
+    private final FileOutputStream fileStream;
     private final PrintWriter writer;
     private final boolean autoFlush;
 
@@ -40,10 +46,10 @@ public class FileSink extends LogMessageSink {
             Files.createDirectories(parent);
         }
 
-        // Initialize writer
-        FileWriter fileWriter = new FileWriter(logFilePath, append);
-        BufferedWriter bufferedWriter = new BufferedWriter(fileWriter);
-        this.writer = new PrintWriter(bufferedWriter, autoFlush);
+        // Initialize writer; flushing is done here so async batches flush once
+        this.fileStream = new FileOutputStream(logFilePath, append);
+        BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(fileStream));
+        this.writer = new PrintWriter(bufferedWriter, false);
     }
 
     /**
@@ -65,11 +71,11 @@ public class FileSink extends LogMessageSink {
 
         writer.println(message);
 
-        if (!autoFlush) {
+        if (autoFlush) {
+            writer.flush();
+        } else if (writer.checkError()) {
             // Only check for errors if not auto-flushing
-            if (writer.checkError()) {
-                System.err.println("Error writing to log file: " + logFilePath);
-            }
+            System.err.println("Error writing to log file: " + logFilePath);
         }
     }
 
@@ -78,11 +84,44 @@ public class FileSink extends LogMessageSink {
         writeToFile(level, oneMessage);
     }
 
+    /**
+     * Writes the whole batch with a single call; with autoFlush the flush happens in {@link #endOfBatch()}.
+     */
+    @Override
+    public void consumeBatch(Level[] levels, String[] messages, int count) {
+        StringBuilder batch = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (!ignoreMessageAtLevel(levels[i])) {
+                batch.append(messages[i]).append(LINE_SEPARATOR);
+            }
+        }
+        writer.write(batch.toString());
+    }
+
+    @Override
+    public void endOfBatch() {
+        if (autoFlush) {
+            writer.flush();
+        }
+        if (writer.checkError()) {
+            System.err.println("Error writing to log file: " + logFilePath);
+        }
+    }
+
     @Override
     public void flush() {
         writer.flush();
     }
 
+    @Override
+    public void sync() throws IOException {
+        writer.flush();
+        if (writer.checkError()) {
+            throw new IOException("Error writing to log file: " + logFilePath);
+        }
+        fileStream.getFD().sync();
+    }
+
     /**
      * Closes the log file. This method should be called when the sink is no longer needed.
      */
@@ -0,0 +1,27 @@
+package org.example.logger.sink.impl;
+
+/**
+ * Which file sink implementation {@code LoggerConfig.withFile(...)} creates.
+ */
+public enum FileSinkType {
+    /**
+     * {@link FileSink}: a buffered character stream in the platform charset.
+     */
+    STREAM,
+    /**
+     * {@link ChannelFileSink}: UTF-8 encoded into direct buffers and written through a FileChannel.
+     */
+    CHANNEL,
+    /**
+     * {@link MappedFileSink}: UTF-8 copied into memory-mapped regions of the file.
+     */
+    MAPPED,
+    /**
+     * {@link BinaryLogSink}: events in a compact binary form, rendered as text by {@link BinaryLogReader}.
+     */
+    BINARY,
+    /**
+     * {@link CompressedFileSink}: formatted lines in compressed blocks, read back by time range with {@link CompressedLogReader}.
+     */
+    COMPRESSED,
+}
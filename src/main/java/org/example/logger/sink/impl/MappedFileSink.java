@@ -0,0 +1,203 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.sink.Syncable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file sink that appends UTF-8 lines into a memory-mapped region of the log file.
+ * <p>
+ * Writing a line is a plain memory copy into the page cache, so lines are visible to readers
+ * and survive a crash of this process without any system call. When the region fills, the
+ * next one is mapped straight after it, growing the file by the region size.
+ * <p>
+ * The file therefore ends in zero bytes that are not log data until {@link #close()} truncates
+ * it to its real length; readers of the live file should stop at the first zero byte. After a
+ * crash the zeros remain; opening the file again in append mode finds the true end of data by
+ * scanning back from the end for the last non-zero byte, and carries on from there.
+ * <p>
+ * Not thread-safe on its own; the logger only calls a sink from one thread at a time.
+ */
+public class MappedFileSink extends Utf8FileSink implements Syncable, Closeable {
+    /**
+     * Default size of each mapped region.
+     */
+    public static final int DEFAULT_REGION_SIZE = 16 * 1024 * 1024;
+    // Chunk read at a time while scanning back for the end of data
+    private static final int RECOVERY_SCAN_SIZE = 64 * 1024;
+
+    private final String logFilePath;
+    private final FileChannel channel;
+    private final int regionSize;
+    // Current mapping and the file offset it starts at; null once closed, or if mapping failed
+    private MappedByteBuffer region;
+    private long regionStart;
+    private final ByteBuffer discard = ByteBuffer.allocate(64);
+
+    /**
+     * Creates a mapped file sink with {@link #DEFAULT_REGION_SIZE} regions
+     *
+     * @param sinkLevel   minimum level to log
+     * @param logFilePath path to the log file
+     * @param append      whether to append to existing file or overwrite
+     * @throws IOException if there's an error creating, opening or mapping the log file
+     */
+    public MappedFileSink(Level sinkLevel, String logFilePath, boolean append) throws IOException {
+        this(sinkLevel, logFilePath, append, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * @param regionSize bytes mapped at a time; the file grows by this much whenever a region fills
+     */
+    public MappedFileSink(Level sinkLevel, String logFilePath, boolean append, int regionSize) throws IOException {
+        super(sinkLevel);
+        this.logFilePath = logFilePath;
+        this.regionSize = Math.max(64, regionSize);
+
+        // Create directory if it doesn't exist
+        Path path = Paths.get(logFilePath);
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        this.channel = append
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            long end = append ? findEndOfData(channel) : 0;
+            // Drop the zero tail left by a crash, so it isn't mistaken for data if we crash again early
+            channel.truncate(end);
+            map(end);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Finds where the log data in a file ends: just after the last non-zero byte.
+     * Log lines never contain zero bytes, so any zeros at the end are unused mapped space.
+     *
+     * @param channel an open, readable file
+     * @return the length of the data in the file
+     * @throws IOException if the file cannot be read
+     */
+    static long findEndOfData(FileChannel channel) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(RECOVERY_SCAN_SIZE);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(0, end - RECOVERY_SCAN_SIZE);
+            chunk.clear().limit((int) (end - start));
+            while (chunk.hasRemaining() && channel.read(chunk, start + chunk.position()) >= 0) {
+                // Keep reading until the chunk is full
+            }
+            for (int i = chunk.position() - 1; i >= 0; i--) {
+                if (chunk.get(i) != 0) {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    @Override
+    public void consumeMessage(Level level, String oneMessage) {
+        if (ignoreMessageAtLevel(level)) {
+            return;
+        }
+        appendLine(oneMessage);
+    }
+
+    @Override
+    ByteBuffer writableBuffer() {
+        if (region == null || !region.hasRemaining()) {
+            nextBuffer();
+        }
+        // If mapping failed the line still has to be encoded somewhere; it is lost
+        return region != null ? region : discard.clear();
+    }
+
+    @Override
+    void nextBuffer() {
+        long next = position();
+        region = null;
+        regionStart = next;
+        try {
+            map(next);
+        } catch (IOException e) {
+            System.err.println("Error mapping log file: " + logFilePath + ": " + e);
+        }
+    }
+
+    private void map(long position) throws IOException {
+        // Mapping past the end of the file grows it to cover the region
+        region = channel.map(FileChannel.MapMode.READ_WRITE, position, regionSize);
+        regionStart = position;
+    }
+
+    // File offset just after the last byte written
+    private long position() {
+        return region == null ? regionStart : regionStart + region.position();
+    }
+
+    /**
+     * Nothing to do: lines are in the page cache as soon as they are written. The mapping is
+     * kept, so flushing often costs nothing.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Forces the lines written so far to the storage device, without truncating the file.
+     */
+    @Override
+    public void sync() throws IOException {
+        if (region != null) {
+            region.force();
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Truncates the file to its real length and closes it.
+     */
+    public void close() {
+        if (!channel.isOpen()) {
+            return;
+        }
+        long end = position();
+        // Never touch the mapping again: its pages past the new end no longer exist
+        region = null;
+        regionStart = end;
+        try {
+            channel.truncate(end);
+        } catch (IOException e) {
+            System.err.println("Error truncating log file: " + logFilePath + ": " + e);
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing log file: " + logFilePath + ": " + e);
+        }
+    }
+
+    /**
+     * @return the size of each mapped region
+     */
+    public int getRegionSize() {
+        return regionSize;
+    }
+}
@@ -0,0 +1,330 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.sink.LogMessageSink;
+import org.example.logger.sink.Syncable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A file sink that starts a new file when the current one reaches a size limit and/or at
+ * the start of each time period, keeping a bounded number of old files.
+ * <p>
+ * The live file keeps its configured name. Rolling closes it, renames it to
+ * {@code <name>.<yyyyMMdd-HHmmss>} and opens a fresh one, all on the thread that is writing,
+ * so no line is lost and no other process has to copy or truncate the file. Compressing the
+ * rolled file to gzip and deleting files beyond the history limit happen on a background
+ * thread, so they never hold up logging.
+ * <p>
+ * Not thread-safe on its own; the logger only calls a sink from one thread at a time.
+ */
+public class RollingFileSink extends LogMessageSink implements Syncable, Closeable {
+    private static final DateTimeFormatter ROLLED_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneId.systemDefault());
+    private static final String GZIP_SUFFIX = ".gz";
+    // Upper bound on how long close() waits for compression to finish
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private final Path path;
+    private final boolean autoFlush;
+    private final long maxFileSize;
+    private final long intervalMillis;
+    private final int maxHistory;
+    private final boolean compress;
+    private final ExecutorService housekeeping;
+    private ChannelFileSink active;
+    // A file that could not be synced before it was rolled, reported by the next sync
+    private IOException rollFailure;
+    // When the current time period ends; Long.MAX_VALUE without time-based rolling
+    private long nextRollMillis;
+
+    /**
+     * @param sinkLevel   minimum level to log
+     * @param logFilePath path to the live log file
+     * @param autoFlush   whether to write to the file after each message, or async batch
+     * @param maxFileSize roll once the file reaches this many bytes; 0 for no size limit
+     * @param interval    roll at the start of each period of this length, aligned to local
+     *                    midnight; null for no time-based rolling
+     * @param maxHistory  rolled files to keep, oldest deleted first; 0 to keep all
+     * @param compress    whether to gzip rolled files
+     * @throws IOException if there's an error creating or opening the log file
+     */
+    public RollingFileSink(Level sinkLevel, String logFilePath, boolean autoFlush, long maxFileSize,
+                           Duration interval, int maxHistory, boolean compress) throws IOException {
+        super(sinkLevel);
+        if (maxFileSize <= 0 && interval == null) {
+            throw new IllegalArgumentException("Rolling needs a size limit or an interval");
+        }
+        if (interval != null && interval.toMillis() <= 0) {
+            throw new IllegalArgumentException("Rolling interval must be positive");
+        }
+        this.path = Paths.get(logFilePath).toAbsolutePath();
+        this.autoFlush = autoFlush;
+        this.maxFileSize = maxFileSize;
+        this.intervalMillis = interval == null ? 0 : interval.toMillis();
+        this.maxHistory = maxHistory;
+        this.compress = compress;
+        // One daemon thread with an unbounded queue: rolls are rare and must never wait on it
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "Logger-RollingFileSink-" + path.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeping = executor;
+
+        long now = System.currentTimeMillis();
+        nextRollMillis = nextRollAfter(now);
+        this.active = new ChannelFileSink(sinkLevel, logFilePath, true, autoFlush);
+        // A file left from an earlier period is rolled before writing into it
+        if (intervalMillis > 0 && active.length() > 0
+                && Files.getLastModifiedTime(path).toMillis() < nextRollMillis - intervalMillis) {
+            roll(now);
+        } else if (maxFileSize > 0 && active.length() >= maxFileSize) {
+            roll(now);
+        }
+        // Finish anything an earlier run left uncompressed or over the limit
+        housekeeping.execute(() -> cleanUp(null));
+    }
+
+    private long nextRollAfter(long nowMillis) {
+        if (intervalMillis == 0) {
+            return Long.MAX_VALUE;
+        }
+        long offset = ZoneId.systemDefault().getRules().getOffset(Instant.ofEpochMilli(nowMillis))
+                .getTotalSeconds() * 1000L;
+        long periodStart = Math.floorDiv(nowMillis + offset, intervalMillis) * intervalMillis - offset;
+        return periodStart + intervalMillis;
+    }
+
+    @Override
+    public void consumeMessage(Level level, String oneMessage) {
+        if (ignoreMessageAtLevel(level)) {
+            return;
+        }
+        rollIfDue(System.currentTimeMillis());
+        active.appendLine(oneMessage);
+        if (autoFlush) {
+            active.flush();
+        }
+    }
+
+    /**
+     * Appends the batch to the live file, rolling between lines where a limit is reached;
+     * with autoFlush it is written in {@link #endOfBatch()}.
+     */
+    @Override
+    public void consumeBatch(Level[] levels, String[] messages, int count) {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            if (!ignoreMessageAtLevel(levels[i])) {
+                rollIfDue(now);
+                active.appendLine(messages[i]);
+            }
+        }
+    }
+
+    @Override
+    public void endOfBatch() {
+        active.endOfBatch();
+    }
+
+    private void rollIfDue(long nowMillis) {
+        if (nowMillis >= nextRollMillis || (maxFileSize > 0 && active.length() >= maxFileSize)) {
+            roll(nowMillis);
+        }
+    }
+
+    // Writer thread: swap in a fresh file and hand the old one to the housekeeping thread
+    private void roll(long nowMillis) {
+        nextRollMillis = nextRollAfter(nowMillis);
+        if (active.length() == 0) {
+            return;
+        }
+        // The next sync() only covers the new file, so the old one is forced before it goes
+        try {
+            active.sync();
+        } catch (IOException e) {
+            System.err.println("Error syncing log file before rolling: " + path + ": " + e);
+            if (rollFailure == null) {
+                rollFailure = e;
+            }
+        }
+        active.close();
+        Path rolled = rolledPath(nowMillis);
+        try {
+            move(path, rolled);
+        } catch (IOException e) {
+            System.err.println("Error rolling log file: " + path + ": " + e);
+        }
+        try {
+            // Appends to the old file if the rename failed, so nothing is lost
+            active = new ChannelFileSink(getSinkLevel(), path.toString(), true, autoFlush);
+        } catch (IOException e) {
+            // Lines then fail against the closed file and are reported
+            System.err.println("Error reopening log file: " + path + ": " + e);
+        }
+        housekeeping.execute(() -> cleanUp(rolled));
+    }
+
+    private Path rolledPath(long nowMillis) {
+        String base = path.getFileName() + "." + ROLLED_SUFFIX.format(Instant.ofEpochMilli(nowMillis));
+        Path rolled = path.resolveSibling(base);
+        for (int i = 1; Files.exists(rolled) || Files.exists(rolled.resolveSibling(rolled.getFileName() + GZIP_SUFFIX));
+             i++) {
+            rolled = path.resolveSibling(base + "." + i);
+        }
+        return rolled;
+    }
+
+    private static void move(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to);
+        }
+    }
+
+    // Housekeeping thread: compress rolled files, then delete the oldest beyond maxHistory
+    private void cleanUp(Path justRolled) {
+        try {
+            List<Path> rolled = listRolledFiles();
+            if (compress) {
+                for (int i = 0; i < rolled.size(); i++) {
+                    Path file = rolled.get(i);
+                    if (!file.getFileName().toString().endsWith(GZIP_SUFFIX)) {
+                        rolled.set(i, gzip(file));
+                    }
+                }
+            }
+            if (maxHistory > 0 && rolled.size() > maxHistory) {
+                // By name: compression rewrites the files, so their modification times say nothing
+                rolled.sort(Comparator.comparing(this::rolledTimestamp).thenComparingLong(this::rolledCounter));
+                for (Path old : rolled.subList(0, rolled.size() - maxHistory)) {
+                    Files.deleteIfExists(old);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error cleaning up rolled log files"
+                    + (justRolled == null ? "" : " after " + justRolled) + ": " + e);
+        }
+    }
+
+    private List<Path> listRolledFiles() throws IOException {
+        String prefix = path.getFileName() + ".";
+        List<Path> rolled = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(path.getParent(), prefix + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    // A compression interrupted by exit; the uncompressed file is still there
+                    Files.deleteIfExists(file);
+                } else if (name.length() > prefix.length() && Character.isDigit(name.charAt(prefix.length()))) {
+                    rolled.add(file);
+                }
+            }
+        }
+        return rolled;
+    }
+
+    // Writes file.gz through a temporary file, so a half-written archive never replaces the original
+    private static Path gzip(Path file) throws IOException {
+        Path target = file.resolveSibling(file.getFileName() + GZIP_SUFFIX);
+        Path temp = file.resolveSibling(target.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(file);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+            in.transferTo(out);
+        }
+        move(temp, target);
+        Files.delete(file);
+        return target;
+    }
+
+    // The yyyyMMdd-HHmmss part of a rolled file's name, which sorts in time order as text
+    private String rolledTimestamp(Path file) {
+        String suffix = rolledSuffix(file);
+        int dot = suffix.indexOf('.');
+        return dot < 0 ? suffix : suffix.substring(0, dot);
+    }
+
+    // The counter added when two rolls fall in the same second; 0 for the first
+    private long rolledCounter(Path file) {
+        String suffix = rolledSuffix(file);
+        int dot = suffix.indexOf('.');
+        try {
+            return dot < 0 ? 0 : Long.parseLong(suffix.substring(dot + 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // What roll() appended to the live file's name
+    private String rolledSuffix(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(GZIP_SUFFIX)) {
+            name = name.substring(0, name.length() - GZIP_SUFFIX.length());
+        }
+        return name.substring(path.getFileName().toString().length() + 1);
+    }
+
+    @Override
+    public void flush() {
+        active.flush();
+    }
+
+    /**
+     * Syncs the live file. Fails if a file rolled since the last sync could not be synced.
+     */
+    @Override
+    public void sync() throws IOException {
+        active.sync();
+        IOException failure = rollFailure;
+        if (failure != null) {
+            rollFailure = null;
+            throw new IOException("Lines were lost rolling log file: " + path, failure);
+        }
+    }
+
+    /**
+     * Closes the live file and waits for outstanding compression to finish.
+     */
+    public void close() {
+        active.close();
+        housekeeping.shutdown();
+        try {
+            if (!housekeeping.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Timed out compressing rolled log files for " + path);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the path of the live log file
+     */
+    public Path getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.sink.LogMessageSink;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Base for file and console sinks that encode lines as UTF-8 straight into byte buffers. ASCII text is
+ * copied byte for byte; anything else goes through one reused {@link CharsetEncoder}.
+ * Subclasses supply the buffer to write into and decide what happens when it fills.
+ */
+abstract class Utf8FileSink extends LogMessageSink {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    Utf8FileSink(Level sinkLevel) {
+        super(sinkLevel);
+    }
+
+    /**
+     * @return the buffer to write into, with at least one byte remaining
+     */
+    abstract ByteBuffer writableBuffer();
+
+    /**
+     * Called when the current buffer is full; afterwards {@link #writableBuffer()} must have room again.
+     */
+    abstract void nextBuffer();
+
+    final void appendLine(String message) {
+        append(message);
+        append(LINE_SEPARATOR);
+    }
+
+    private void append(String text) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            ByteBuffer buffer = writableBuffer();
+            // ASCII fast path: one byte per char, no encoder
+            int limit = Math.min(length, i + buffer.remaining());
+            while (i < limit) {
+                char c = text.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                buffer.put((byte) c);
+                i++;
+            }
+            if (i < limit) {
+                encodeRemainder(text, i);
+                return;
+            }
+        }
+    }
+
+    // Encodes text from start to the end with the shared encoder, moving on to the next buffer as each fills
+    private void encodeRemainder(String text, int start) {
+        CharBuffer chars = CharBuffer.wrap(text, start, text.length());
+        encoder.reset();
+        while (encoder.encode(chars, writableBuffer(), true).isOverflow()) {
+            nextBuffer();
+        }
+        CoderResult result;
+        while ((result = encoder.flush(writableBuffer())).isOverflow()) {
+            nextBuffer();
+        }
+    }
+}
@@ -1,10 +1,24 @@
 package org.example.logger;
 
+import org.example.logger.sink.LogMessageSink;
 import org.example.logger.sink.impl.StdOutSink;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 /**
  * Simple demonstration test of async Logger functionality.
  * This class uses a real sink for simplicity.
@@ -47,4 +61,133 @@ public class LoggerAsyncTest {
 
         // No assertions - this is just a demonstration that the code doesn't crash
     }
-} 
\ No newline at end of file
+
+    @Test
+    void boundedBufferShouldDeliverEveryMessageUnderContention() throws InterruptedException {
+        int threads = 8;
+        int perThread = 2_000;
+        ConcurrentMap<String, Integer> lastSeen = new ConcurrentHashMap<>();
+        int[] received = new int[1];
+        LogMessageSink orderCheckingSink = new LogMessageSink(Level.INFO) {
+            @Override
+            public void consumeMessage(Level level, String oneMessage) {
+                // Only the worker calls this, so no synchronization is needed
+                String[] parts = oneMessage.substring(oneMessage.lastIndexOf(' ') + 1).split(":");
+                int previous = lastSeen.getOrDefault(parts[0], -1);
+                assertEquals(previous + 1, Integer.parseInt(parts[1]));
+                lastSeen.put(parts[0], previous + 1);
+                received[0]++;
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+        Logger contended = new Logger("Contended", timeFormat, "{MESSAGE}", true, bufferSize, orderCheckingSink);
+
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final String name = "T" + t;
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    contended.info("message " + name + ":" + i);
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        contended.shutdown();
+
+        assertEquals(threads * perThread, received[0]);
+    }
+
+    @Test
+    void flushAsyncShouldCompleteOnWorkerAfterEarlierMessages() throws Exception {
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch gate = new CountDownLatch(1);
+        LogMessageSink slowSink = new LogMessageSink(Level.INFO) {
+            @Override
+            public void consumeMessage(Level level, String oneMessage) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                calls.add(oneMessage);
+            }
+
+            @Override
+            public void flush() {
+                calls.add("flush on " + Thread.currentThread().getName());
+            }
+        };
+        Logger flushing = new Logger("Flushing", timeFormat, "{MESSAGE}", true, bufferSize, slowSink);
+        try {
+            flushing.info("before flush");
+            CompletableFuture<Void> flushed = flushing.flushAsync();
+
+            // The worker is stuck in the sink, yet producers are not blocked by the pending flush
+            flushing.info("after flush");
+            assertFalse(flushed.isDone());
+
+            gate.countDown();
+            flushed.get(5, TimeUnit.SECONDS);
+
+            assertEquals("before flush", calls.get(0));
+            assertTrue(calls.contains("flush on Logger-Worker-Flushing"));
+        } finally {
+            gate.countDown();
+            flushing.shutdown();
+        }
+    }
+
+    @Test
+    void workerStillBusyAtShutdownShouldFlushWhenItFinishes() throws Exception {
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch flushed = new CountDownLatch(1);
+        LogMessageSink slowSink = new LogMessageSink(Level.INFO) {
+            @Override
+            public void consumeMessage(Level level, String oneMessage) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                calls.add(oneMessage);
+            }
+
+            @Override
+            public void flush() {
+                calls.add("flush");
+                flushed.countDown();
+            }
+        };
+        Logger slow = new Logger("Slow", timeFormat, "{MESSAGE}", true, bufferSize, slowSink);
+        try {
+            slow.info("first");
+            slow.info("last");
+
+            // Gives up waiting for the stuck worker after a second
+            slow.shutdown();
+            assertFalse(calls.contains("last"));
+
+            gate.countDown();
+            assertTrue(flushed.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of("first", "last", "flush"), calls);
+        } finally {
+            gate.countDown();
+        }
+    }
+
+    @Test
+    void flushAsyncAfterShutdownShouldCompleteImmediately() throws Exception {
+        asyncLogger.info("Last message");
+        asyncLogger.shutdown();
+
+        asyncLogger.flushAsync().get(5, TimeUnit.SECONDS);
+    }
+}
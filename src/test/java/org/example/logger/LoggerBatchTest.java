@@ -0,0 +1,98 @@
+package org.example.logger;
+
+import org.example.logger.sink.LogMessageSink;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoggerBatchTest {
+
+    @Test
+    void workerShouldDeliverQueuedEventsAsOneBatch() throws InterruptedException {
+        BatchRecordingSink sink = new BatchRecordingSink();
+        Logger logger = new Logger("BatchLogger", "HH:mm:ss", "{MESSAGE}", true, 16, sink);
+        try {
+            logger.info("first");
+            assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 5; i++) {
+                logger.info("queued " + i);
+            }
+            logger.debug("below sink level");
+
+            sink.gate.countDown();
+            logger.shutdown();
+
+            assertEquals(List.of(List.of("first"),
+                    List.of("queued 0", "queued 1", "queued 2", "queued 3", "queued 4")), sink.batches);
+            assertEquals(2, sink.endOfBatchCalls);
+        } finally {
+            sink.gate.countDown();
+            logger.shutdown();
+        }
+    }
+
+    @Test
+    void defaultBatchShouldFallBackToConsumeMessage() {
+        List<String> received = new ArrayList<>();
+        LogMessageSink sink = new LogMessageSink(Level.INFO) {
+            @Override
+            public void consumeMessage(Level level, String oneMessage) {
+                received.add(level + " " + oneMessage);
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+
+        sink.consumeBatch(new Level[]{Level.INFO, Level.WARN, null}, new String[]{"a", "b", "unused"}, 2);
+
+        assertEquals(List.of("INFO a", "WARN b"), received);
+    }
+
+    // Holds the worker on its first batch so later events queue up behind it
+    private static class BatchRecordingSink extends LogMessageSink {
+        final List<List<String>> batches = new ArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+        int endOfBatchCalls;
+
+        BatchRecordingSink() {
+            super(Level.INFO);
+        }
+
+        @Override
+        public void consumeMessage(Level level, String oneMessage) {
+            batches.add(List.of(oneMessage));
+        }
+
+        @Override
+        public void consumeBatch(Level[] levels, String[] messages, int count) {
+            batches.add(new ArrayList<>(Arrays.asList(messages).subList(0, count)));
+            if (batches.size() == 1) {
+                entered.countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void endOfBatch() {
+            endOfBatchCalls++;
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
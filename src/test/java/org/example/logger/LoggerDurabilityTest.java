@@ -0,0 +1,156 @@
+package org.example.logger;
+
+import org.example.logger.async.AsyncOverflowPolicy;
+import org.example.logger.sink.LogMessageSink;
+import org.example.logger.sink.Syncable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoggerDurabilityTest {
+
+    private final String timeFormat = "HH:mm:ss";
+    private final String messageFormat = "{MESSAGE}";
+    private SyncCountingSink sink;
+    private Logger logger;
+
+    @AfterEach
+    void tearDown() {
+        sink.gate.countDown();
+        logger.shutdown();
+    }
+
+    private void createLogger(boolean async, DurabilityMode durability, long intervalMillis) {
+        sink = new SyncCountingSink();
+        logger = new Logger("DurableLogger", timeFormat, messageFormat, async, 64, LogClock.SYSTEM, false,
+                AsyncOverflowPolicy.BLOCK, Level.WARN, durability, intervalMillis, sink);
+    }
+
+    @Test
+    void logDurableShouldCompleteAfterSyncInSyncMode() {
+        createLogger(false, DurabilityMode.NONE, 0);
+        sink.gate.countDown();
+
+        logger.info("not synced");
+        logger.flush();
+        assertEquals(0, sink.syncs);
+
+        logger.logDurable(Level.INFO, "audit {}", 42).join();
+
+        assertEquals(1, sink.syncs);
+        assertEquals(List.of("not synced", "audit 42"), sink.syncedMessages);
+    }
+
+    @Test
+    void concurrentDurableWritesShouldShareSyncs() {
+        createLogger(true, DurabilityMode.NONE, 0);
+
+        // The worker is stuck in the first write while the rest queue up
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            acks.add(logger.logDurable(Level.INFO, "audit " + i));
+        }
+        sink.gate.countDown();
+        acks.forEach(CompletableFuture::join);
+
+        assertEquals(10, sink.syncedMessages.size());
+        assertTrue(sink.syncs < 10, "expected shared syncs but got " + sink.syncs);
+    }
+
+    @Test
+    void groupCommitShouldSyncEachBatch() {
+        createLogger(true, DurabilityMode.GROUP_COMMIT, 0);
+        sink.gate.countDown();
+
+        logger.info("batched");
+        logger.flush();
+
+        assertTrue(sink.syncs >= 1);
+        assertEquals(List.of("batched"), sink.syncedMessages);
+    }
+
+    @Test
+    void periodicModeShouldSyncInBackground() throws InterruptedException {
+        createLogger(false, DurabilityMode.PERIODIC, 10);
+        sink.gate.countDown();
+
+        logger.info("eventually durable");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sink.syncs == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(List.of("eventually durable"), sink.syncedMessages);
+    }
+
+    @Test
+    void failedSyncShouldFailTheFuture() {
+        createLogger(true, DurabilityMode.NONE, 0);
+        sink.gate.countDown();
+        sink.failSync = true;
+
+        CompletableFuture<Void> ack = logger.logDurable(Level.ERROR, "not on disk");
+
+        CompletionException e = assertThrows(CompletionException.class, ack::join);
+        assertInstanceOf(IOException.class, e.getCause());
+    }
+
+    @Test
+    void disabledLevelShouldCompleteImmediately() {
+        createLogger(true, DurabilityMode.NONE, 0);
+        sink.gate.countDown();
+
+        assertTrue(logger.logDurable(Level.DEBUG, "ignored").isDone());
+        assertEquals(0, sink.syncs);
+    }
+
+    // Records which lines had been written when each sync happened; blocks the first write until the gate opens
+    private static class SyncCountingSink extends LogMessageSink implements Syncable {
+        final List<String> written = new CopyOnWriteArrayList<>();
+        final List<String> syncedMessages = new CopyOnWriteArrayList<>();
+        final CountDownLatch gate = new CountDownLatch(1);
+        volatile int syncs;
+        volatile boolean failSync;
+
+        SyncCountingSink() {
+            super(Level.INFO);
+        }
+
+        @Override
+        public void consumeMessage(Level level, String oneMessage) {
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.add(oneMessage);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void sync() throws IOException {
+            if (failSync) {
+                throw new IOException("disk gone");
+            }
+            syncs++;
+            syncedMessages.clear();
+            syncedMessages.addAll(written);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.logger;
+
+import org.example.logger.sink.LogEventSink;
+import org.example.logger.sink.LogMessageSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class LoggerEventSinkTest {
+
+    private final String timeFormat = "yyyy-MM-dd HH:mm:ss";
+    private final String messageFormat = "[{LEVEL}] [{MDC:requestId}] {MESSAGE}";
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void eventSinkShouldReceiveRawMessageAndParameters() {
+        RecordingEventSink eventSink = new RecordingEventSink(Level.DEBUG);
+        Logger logger = new Logger("EventLogger", timeFormat, messageFormat, eventSink);
+        IllegalStateException exception = new IllegalStateException("Broken");
+        MDC.put("requestId", "req-1");
+
+        logger.warn("user {} failed {}", "alice", 3, exception);
+
+        assertEquals(1, eventSink.events.size());
+        LogEvent event = eventSink.events.get(0);
+        assertEquals(Level.WARN, event.getLevel());
+        assertEquals("EventLogger", event.getLoggerName());
+        assertEquals(Thread.currentThread().getName(), event.getThreadName());
+        assertEquals("user {} failed {}", event.getMessage());
+        assertEquals(2, event.getParameterCount());
+        assertEquals("alice", event.getParameter(0));
+        assertEquals("user alice failed 3", event.getFormattedMessage());
+        assertSame(exception, event.getThrowable());
+        assertEquals("req-1", event.getContextMap().get("requestId"));
+    }
+
+    @Test
+    void eventSinkShouldRespectItsLevel() {
+        RecordingEventSink eventSink = new RecordingEventSink(Level.WARN);
+        Logger logger = new Logger("EventLogger", timeFormat, messageFormat, eventSink);
+
+        logger.info("Info message");
+        logger.error("Error message");
+
+        assertEquals(1, eventSink.events.size());
+        assertEquals(Level.ERROR, eventSink.events.get(0).getLevel());
+    }
+
+    @Test
+    void asyncModeShouldFormatOnWorkerThread() {
+        RecordingEventSink eventSink = new RecordingEventSink(Level.DEBUG);
+        RecordingMessageSink messageSink = new RecordingMessageSink();
+        Logger logger = new Logger("AsyncEventLogger", timeFormat, messageFormat, true, 10,
+                eventSink, messageSink);
+        try {
+            MDC.put("requestId", "req-7");
+            logger.info("Async message");
+            MDC.put("requestId", "req-8");
+
+            logger.shutdown();
+
+            assertEquals(List.of("[INFO] [req-7] Async message"), messageSink.messages);
+            assertNotEquals(Thread.currentThread().getName(), messageSink.threads.get(0));
+            assertEquals("req-7", eventSink.kept.get(0).getContextValue("requestId"));
+        } finally {
+            logger.shutdown();
+        }
+    }
+
+    @Test
+    void toImmutableShouldCaptureLiveContext() {
+        RecordingEventSink eventSink = new RecordingEventSink(Level.DEBUG);
+        Logger logger = new Logger("EventLogger", timeFormat, messageFormat, eventSink);
+        MDC.put("requestId", "req-1");
+
+        logger.info("Message");
+        MDC.clear();
+
+        assertNull(eventSink.events.get(0).getContextValue("requestId"));
+        assertEquals("req-1", eventSink.kept.get(0).getContextValue("requestId"));
+    }
+
+    private static class RecordingEventSink extends LogEventSink {
+        private final List<LogEvent> events = new ArrayList<>();
+        private final List<LogEvent> kept = new ArrayList<>();
+
+        RecordingEventSink(Level sinkLevel) {
+            super(sinkLevel);
+        }
+
+        @Override
+        public void consumeEvent(LogEvent event) {
+            events.add(event);
+            kept.add(event.toImmutable());
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+
+    private static class RecordingMessageSink extends LogMessageSink {
+        private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingMessageSink() {
+            super(Level.DEBUG);
+        }
+
+        @Override
+        public void consumeMessage(Level level, String oneMessage) {
+            messages.add(oneMessage);
+            threads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
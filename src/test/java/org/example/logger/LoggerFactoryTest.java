@@ -0,0 +1,102 @@
+package org.example.logger;
+
+import org.example.logger.sink.LogMessageSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoggerFactoryTest {
+
+    private final List<String> received = new ArrayList<>();
+    private LoggerFactory factory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        factory = new LoggerConfig()
+                .withName("root")
+                .withMessageFormat("[{LEVEL}] [{LOGGER}] {MESSAGE}")
+                .withConsole(false, Level.INFO)
+                .withSink(new LogMessageSink(Level.DEBUG) {
+                    @Override
+                    public void consumeMessage(Level level, String oneMessage) {
+                        received.add(oneMessage);
+                    }
+
+                    @Override
+                    public void flush() {
+                    }
+                })
+                .buildFactory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.shutdown();
+    }
+
+    @Test
+    void getLoggerShouldReturnCachedInstance() {
+        Logger first = factory.getLogger("app.db");
+
+        assertSame(first, factory.getLogger("app.db"));
+        assertSame(first, factory.getRootLogger().getLogger("app.db"));
+        assertSame(first, first.getLogger("app.db"));
+        assertSame(factory.getRootLogger(), factory.getLogger("root"));
+        assertEquals("app.db", first.getName());
+    }
+
+    @Test
+    void childShouldInheritNearestAncestorLevel() {
+        Logger pool = factory.getLogger("app.db.pool");
+        factory.getLogger("app").setLevel(Level.WARN);
+
+        assertFalse(pool.isInfoEnabled());
+        assertTrue(pool.isWarnEnabled());
+
+        factory.getLogger("app.db").setLevel(Level.DEBUG);
+        assertTrue(pool.isDebugEnabled());
+        assertNull(pool.getLevel());
+    }
+
+    @Test
+    void ownLevelShouldOverrideAndNullShouldInheritAgain() {
+        factory.getRootLogger().setLevel(Level.ERROR);
+        Logger web = factory.getLogger("web");
+        assertFalse(web.isWarnEnabled());
+
+        web.setLevel(Level.DEBUG);
+        web.debug("debug from web");
+        factory.getRootLogger().warn("warn from root");
+
+        web.setLevel(null);
+        web.warn("suppressed again");
+
+        assertEquals(List.of("[DEBUG] [web] debug from web"), received);
+    }
+
+    @Test
+    void loggerLevelsShouldLoadFromProperties() throws IOException {
+        Properties props = new Properties();
+        props.setProperty("logger.level.app", "ERROR");
+
+        LoggerFactory configured = LoggerConfig.fromProperties(props).buildFactory();
+        try {
+            assertEquals(Level.ERROR, configured.getLogger("app").getLevel());
+            assertFalse(configured.getLogger("app.web").isWarnEnabled());
+            assertTrue(configured.getLogger("other").isWarnEnabled());
+        } finally {
+            configured.shutdown();
+        }
+    }
+}
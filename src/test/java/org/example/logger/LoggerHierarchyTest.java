@@ -9,6 +9,10 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
@@ -114,4 +118,38 @@ public class LoggerHierarchyTest {
         // Assert - all log messages should go to the same sink
         verify(mockSink, times(3)).consumeMessage(eq(Level.INFO), messageCaptor.capture());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void asyncChildLoggersShouldShareOneWorker() {
+        // Arrange
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        LogMessageSink recordingSink = new LogMessageSink(Level.INFO) {
+            @Override
+            public void consumeMessage(Level level, String oneMessage) {
+                received.add(oneMessage);
+            }
+
+            @Override
+            public void flush() {
+            }
+        };
+        Logger asyncRoot = new Logger("SharedRoot", timeFormat, "[{LOGGER}] {MESSAGE}", true, 64, recordingSink);
+        try {
+            // Act
+            for (int i = 0; i < 20; i++) {
+                asyncRoot.getLogger("component" + i).info("hello");
+            }
+            long childWorkers = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().startsWith("Logger-Worker-component"))
+                    .count();
+            asyncRoot.shutdown();
+
+            // Assert
+            assertEquals(0, childWorkers);
+            assertEquals(20, received.size());
+            assertTrue(received.contains("[component7] hello"));
+        } finally {
+            asyncRoot.shutdown();
+        }
+    }
+}
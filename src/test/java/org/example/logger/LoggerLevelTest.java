@@ -0,0 +1,102 @@
+package org.example.logger;
+
+import org.example.logger.sink.LogMessageSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoggerLevelTest {
+
+    private final String timeFormat = "yyyy-MM-dd HH:mm:ss";
+    private final String messageFormat = "[{LEVEL}] {MESSAGE}";
+    private RecordingSink infoSink;
+    private RecordingSink warnSink;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        infoSink = new RecordingSink(Level.INFO);
+        warnSink = new RecordingSink(Level.WARN);
+        logger = new Logger("LevelLogger", timeFormat, messageFormat, infoSink, warnSink);
+    }
+
+    @Test
+    void effectiveLevelShouldBeLowestSinkLevel() {
+        assertFalse(logger.isDebugEnabled());
+        assertTrue(logger.isInfoEnabled());
+        assertTrue(logger.isWarnEnabled());
+        assertTrue(logger.isEnabled(Level.FATAL));
+        assertFalse(logger.isEnabled(null));
+    }
+
+    @Test
+    void disabledLevelShouldNotReachAnySink() {
+        logger.debug("Debug message");
+
+        assertEquals(0, infoSink.calls);
+        assertEquals(0, warnSink.calls);
+    }
+
+    @Test
+    void disabledLevelShouldNotRenderThrowable() {
+        Throwable throwable = new RuntimeException() {
+            @Override
+            public StackTraceElement[] getStackTrace() {
+                throw new AssertionError("stack trace should not be rendered");
+            }
+        };
+
+        logger.debug("Debug message", throwable);
+
+        assertEquals(0, infoSink.calls);
+    }
+
+    @Test
+    void effectiveLevelShouldFollowSinkLevelChanges() {
+        infoSink.setSinkLevel(Level.DEBUG);
+        assertTrue(logger.isDebugEnabled());
+
+        logger.debug("Debug message");
+        assertEquals(List.of("[DEBUG] Debug message"), infoSink.messages);
+
+        infoSink.setSinkLevel(Level.ERROR);
+        assertFalse(logger.isInfoEnabled());
+        assertTrue(logger.isWarnEnabled());
+    }
+
+    @Test
+    void childLoggersShouldSeeSinkLevelChanges() {
+        Logger child = logger.getLogger("child");
+
+        infoSink.setSinkLevel(Level.DEBUG);
+
+        assertTrue(child.isDebugEnabled());
+    }
+
+    private static class RecordingSink extends LogMessageSink {
+        private final List<String> messages = new ArrayList<>();
+        private int calls;
+
+        RecordingSink(Level sinkLevel) {
+            super(sinkLevel);
+        }
+
+        @Override
+        public void consumeMessage(Level level, String oneMessage) {
+            calls++;
+            if (!ignoreMessageAtLevel(level)) {
+                messages.add(oneMessage);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -15,6 +15,7 @@ import java.util.regex.Pattern;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -148,4 +149,30 @@ public class LoggerMessageFormattingTest {
         assertTrue(message.contains("Severity: ERROR"));
         assertTrue(message.contains("Time: "));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void shouldReferenceRepeatedStackTracesWhenDeduplicating() throws Exception {
+        // Arrange
+        Logger logger = new LoggerConfig()
+                .withName("TestLogger")
+                .withConsole(false)
+                .withMessageFormat("{MESSAGE}")
+                .withThrowableRendering(3, 1, 60_000)
+                .withSink(mockSink)
+                .build();
+
+        // Act - same call site, so both failures share a trace
+        for (int i = 0; i < 2; i++) {
+            logger.error("request failed", new IllegalStateException("attempt " + i));
+        }
+
+        // Assert
+        verify(mockSink, times(2)).consumeMessage(eq(Level.ERROR), messageCaptor.capture());
+        String first = messageCaptor.getAllValues().get(0);
+        String second = messageCaptor.getAllValues().get(1);
+        assertTrue(first.startsWith("request failed\njava.lang.IllegalStateException: attempt 0 [#"), first);
+        assertTrue(first.contains(" frames omitted"), first);
+        assertTrue(second.matches("request failed\njava.lang.IllegalStateException: attempt 1 \\[same trace as #\\d+]\\R"),
+                second);
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.logger;
+
+import org.example.logger.async.AsyncOverflowPolicy;
+import org.example.logger.sink.LogMessageSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoggerOverflowPolicyTest {
+
+    private final String timeFormat = "HH:mm:ss";
+    private final String messageFormat = "{LEVEL} {MESSAGE}";
+    private GatedSink sink;
+    private Logger logger;
+
+    @AfterEach
+    void tearDown() {
+        sink.release();
+        logger.shutdown();
+    }
+
+    // Buffer of two slots: "first" holds one until the worker finishes writing it, "queued" the other
+    private void fillQueue(AsyncOverflowPolicy policy, Level dropBelowLevel) throws InterruptedException {
+        sink = new GatedSink();
+        logger = new Logger("OverflowLogger", timeFormat, messageFormat, true, 2, LogClock.SYSTEM, false,
+                policy, dropBelowLevel, DurabilityMode.NONE, 0, sink);
+        logger.info("first");
+        assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+        logger.info("queued");
+    }
+
+    @Test
+    void dropNewShouldDiscardAndReportOverflow() throws InterruptedException {
+        fillQueue(AsyncOverflowPolicy.DROP_NEW, Level.WARN);
+
+        logger.info("lost 1");
+        logger.error("lost 2");
+        assertEquals(1, logger.getDroppedCount(Level.INFO));
+        assertEquals(1, logger.getDroppedCount(Level.ERROR));
+
+        sink.release();
+        logger.shutdown();
+
+        assertEquals(List.of("INFO first", "INFO queued",
+                "WARN Async queue full: dropped 2 events (INFO=1, ERROR=1)"), sink.messages);
+    }
+
+    @Test
+    void dropBelowLevelShouldKeepErrors() throws InterruptedException {
+        fillQueue(AsyncOverflowPolicy.DROP_BELOW_LEVEL, Level.WARN);
+
+        logger.info("lost");
+        Thread errorThread = new Thread(() -> logger.error("kept"));
+        errorThread.start();
+        awaitParked(errorThread);
+
+        sink.release();
+        errorThread.join(5000);
+        logger.shutdown();
+
+        assertEquals(1, logger.getDroppedCount(Level.INFO));
+        assertEquals(0, logger.getDroppedCount(Level.ERROR));
+        assertTrue(sink.messages.contains("ERROR kept"));
+        assertTrue(sink.messages.contains("WARN Async queue full: dropped 1 events (INFO=1)"));
+    }
+
+    @Test
+    void dropOldestShouldDiscardQueuedEvent() throws InterruptedException {
+        fillQueue(AsyncOverflowPolicy.DROP_OLDEST, Level.WARN);
+
+        Thread newestThread = new Thread(() -> logger.info("newest"));
+        newestThread.start();
+        awaitParked(newestThread);
+
+        sink.release();
+        newestThread.join(5000);
+        logger.shutdown();
+
+        assertEquals(1, logger.getDroppedCount(Level.INFO));
+        assertEquals(List.of("INFO first", "INFO newest",
+                "WARN Async queue full: dropped 1 events (INFO=1)"), sink.messages);
+    }
+
+    @Test
+    void synchronousShouldDeliverOnCallerWithoutDropping() throws InterruptedException {
+        fillQueue(AsyncOverflowPolicy.SYNCHRONOUS, Level.WARN);
+
+        Thread overflowThread = new Thread(() -> logger.info("overflow"));
+        overflowThread.start();
+
+        sink.release();
+        overflowThread.join(5000);
+        logger.shutdown();
+
+        assertEquals(0, logger.getDroppedCount(Level.INFO));
+        assertEquals(3, sink.messages.size());
+        assertTrue(sink.messages.contains("INFO overflow"));
+    }
+
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    // Blocks the worker on the first message until released
+    private static class GatedSink extends LogMessageSink {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        GatedSink() {
+            super(Level.DEBUG);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public void consumeMessage(Level level, String message) {
+            if (messages.isEmpty()) {
+                entered.countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            messages.add(message);
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.logger;
+
+import org.example.logger.sink.LogMessageSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Answers.CALLS_REAL_METHODS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@ExtendWith(MockitoExtension.class)
+public class LoggerParameterizedTest {
+
+    private final String timeFormat = "yyyy-MM-dd HH:mm:ss";
+    private final String messageFormat = "[{LEVEL}] {MESSAGE}";
+    @Mock
+    private LogMessageSink mockSink;
+    @Captor
+    private ArgumentCaptor<String> messageCaptor;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        logger = new Logger("ParamLogger", timeFormat, messageFormat, mockSink);
+    }
+
+    @Test
+    void shouldSubstituteParametersForEachArity() {
+        logger.info("one {}", 1);
+        logger.warn("two {} {}", 1, 2);
+        logger.error("three {} {} {}", 1, 2, 3);
+
+        verify(mockSink).consumeMessage(eq(Level.INFO), messageCaptor.capture());
+        verify(mockSink).consumeMessage(eq(Level.WARN), messageCaptor.capture());
+        verify(mockSink).consumeMessage(eq(Level.ERROR), messageCaptor.capture());
+        assertEquals("[INFO] one 1", messageCaptor.getAllValues().get(0));
+        assertEquals("[WARN] two 1 2", messageCaptor.getAllValues().get(1));
+        assertEquals("[ERROR] three 1 2 3", messageCaptor.getAllValues().get(2));
+    }
+
+    @Test
+    void trailingThrowableShouldBeLoggedAsException() {
+        logger.error("failed for {}", "user1", new IllegalStateException("Broken state"));
+
+        verify(mockSink).consumeMessage(eq(Level.ERROR), messageCaptor.capture());
+        String message = messageCaptor.getValue();
+        assertTrue(message.startsWith("[ERROR] failed for user1\n"));
+        assertTrue(message.contains("IllegalStateException: Broken state"));
+    }
+
+    @Test
+    void disabledLevelShouldNotRenderArguments() {
+        LogMessageSink infoSink = mock(LogMessageSink.class);
+        when(infoSink.getSinkLevel()).thenReturn(Level.INFO);
+        Logger infoLogger = new Logger("InfoLogger", timeFormat, messageFormat, infoSink);
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                throw new AssertionError("argument should not be rendered");
+            }
+        };
+
+        infoLogger.debug("value {}", argument);
+        infoLogger.debug("values {} {}", argument, argument);
+        infoLogger.debug("values {} {} {}", argument, argument, argument);
+
+        verify(infoSink, never()).consumeMessage(any(), anyString());
+    }
+
+    @Test
+    void deferredFormattingShouldRenderOnWorkerWithCapturedMdc() {
+        // The worker delivers batches, so let the default consumeBatch reach consumeMessage
+        LogMessageSink batchSink = mock(LogMessageSink.class,
+                withSettings().useConstructor(Level.DEBUG).defaultAnswer(CALLS_REAL_METHODS));
+        Logger asyncLogger = new Logger("AsyncParamLogger", timeFormat, "{MDC:requestId} {MESSAGE}",
+                true, 10, LogClock.SYSTEM, true, batchSink);
+        try {
+            MDC.put("requestId", "req-1");
+            asyncLogger.info("hello {}", "world");
+            MDC.put("requestId", "req-2");
+
+            asyncLogger.shutdown();
+
+            verify(batchSink).consumeMessage(eq(Level.INFO), messageCaptor.capture());
+            assertEquals("req-1 hello world", messageCaptor.getValue());
+        } finally {
+            asyncLogger.shutdown();
+            MDC.clear();
+        }
+    }
+}
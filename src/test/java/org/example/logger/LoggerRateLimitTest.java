@@ -0,0 +1,263 @@
+package org.example.logger;
+
+import org.example.logger.sink.LogMessageSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoggerRateLimitTest {
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private LoggerFactory factory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        factory = factory(new LoggerConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.shutdown();
+    }
+
+    private LoggerFactory factory(LoggerConfig config) throws IOException {
+        return config
+                .withName("root")
+                .withMessageFormat("[{LEVEL}] {MESSAGE}")
+                .withConsole(false, Level.INFO)
+                .withSink(new LogMessageSink(Level.DEBUG) {
+                    @Override
+                    public void consumeMessage(Level level, String oneMessage) {
+                        received.add(oneMessage);
+                    }
+
+                    @Override
+                    public void flush() {
+                    }
+                })
+                .buildFactory();
+    }
+
+    @Test
+    void burstShouldBeAdmittedAndTheRestSuppressed() {
+        // Given
+        Logger logger = factory.getLogger("app");
+        logger.setRateLimit(Level.WARN, 0.001, 3);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            logger.warn("disk {} almost full", i);
+        }
+        logger.warn("other message");
+
+        // Then - each pattern has its own bucket
+        assertEquals(List.of("[WARN] disk 0 almost full", "[WARN] disk 1 almost full",
+                "[WARN] disk 2 almost full", "[WARN] other message"), received);
+    }
+
+    @Test
+    void levelsWithoutALimitShouldBeUnaffected() {
+        // Given
+        Logger logger = factory.getLogger("app");
+        logger.setRateLimit(Level.WARN, 0.001, 1);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            logger.info("tick");
+        }
+
+        // Then
+        assertEquals(5, received.size());
+        assertNull(logger.getRateLimiter().bucket(Level.INFO, "tick"));
+    }
+
+    @Test
+    void summaryShouldPrecedeTheNextAdmittedMessage() throws InterruptedException {
+        // Given
+        Logger logger = factory.getLogger("app");
+        logger.setRateLimit(Level.ERROR, 10, 1);
+
+        // When
+        logger.error("write failed: {}", "a");
+        logger.error("write failed: {}", "b");
+        logger.error("write failed: {}", "c");
+        Thread.sleep(150);
+        logger.error("write failed: {}", "d");
+
+        // Then
+        assertEquals(List.of("[ERROR] write failed: a",
+                "[ERROR] Suppressed 2 similar messages in the last 1 second: write failed: {}",
+                "[ERROR] write failed: d"), received);
+    }
+
+    @Test
+    void floodThatStopsShouldStillBeSummarized() throws InterruptedException {
+        // Given
+        Logger logger = factory.getLogger("app");
+        logger.setRateLimit(Level.WARN, 0.001, 1);
+
+        // When - no further message comes after the flood
+        for (int i = 0; i < 4; i++) {
+            logger.warn("retrying {}", i);
+        }
+
+        // Then - the factory's timer reports it
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, received.size());
+        assertEquals("[WARN] retrying 0", received.get(0));
+        assertTrue(received.get(1).startsWith("[WARN] Suppressed 3 similar messages in the last "));
+        assertTrue(received.get(1).endsWith(": retrying {}"));
+    }
+
+    @Test
+    void shutdownShouldReportPendingSummaries() {
+        // Given
+        Logger logger = factory.getLogger("app");
+        logger.setRateLimit(Level.INFO, 0.001, 1);
+        logger.info("polling");
+        logger.info("polling");
+
+        // When
+        factory.shutdown();
+
+        // Then
+        assertEquals(List.of("[INFO] polling",
+                "[INFO] Suppressed 1 similar message in the last 1 second: polling"), received);
+    }
+
+    @Test
+    void childShouldInheritTheNearestAncestorsLimit() {
+        // Given
+        factory.getLogger("app").setRateLimit(Level.INFO, 0.001, 1);
+        Logger child = factory.getLogger("app.db");
+        Logger unrelated = factory.getLogger("web");
+
+        // When
+        child.info("query");
+        child.info("query");
+        unrelated.info("query");
+        unrelated.info("query");
+
+        // Then
+        assertEquals(3, received.size());
+
+        // When - the child's own limit replaces the inherited one, and removing it inherits again
+        child.setRateLimit(Level.INFO, 1000, 100);
+        assertSame(child.getRateLimiter(), factory.getLogger("app.db").getRateLimiter());
+        RateLimiter own = child.getRateLimiter();
+        factory.getLogger("web").setRateLimit(Level.DEBUG, 5, 5);
+        assertSame(own, child.getRateLimiter());
+        child.setRateLimit(Level.INFO, 0, 0);
+        factory.getLogger("app").setRateLimit(Level.INFO, 0, 0);
+        assertNull(child.getRateLimiter());
+    }
+
+    @Test
+    void supplierCallSitesShouldHaveTheirOwnBuckets() {
+        // Given
+        Logger logger = factory.getLogger("app");
+        logger.setRateLimit(Level.INFO, 0.001, 1);
+        int[] calls = new int[1];
+        Supplier<String> first = () -> "first " + ++calls[0];
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            logger.infoLazy(first);
+            logger.infoLazy(() -> "second");
+        }
+
+        // Then - suppressed suppliers are never called
+        assertEquals(List.of("[INFO] first 1", "[INFO] second"), received);
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    void bucketShouldRefillAtTheConfiguredRate() {
+        // Given - 10 per second, so a token every 100ms
+        RateLimiter.Bucket bucket = new RateLimiter.Bucket(new RateLimiter.Policy(10, 2), 0);
+        long ms = TimeUnit.MILLISECONDS.toNanos(1);
+
+        // When & Then
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(50 * ms));
+        assertTrue(bucket.tryAcquire(100 * ms));
+        assertFalse(bucket.tryAcquire(150 * ms));
+        assertNotNull(bucket.takeSummary(200 * ms, "pattern"));
+        assertNull(bucket.takeSummary(300 * ms, "pattern"));
+        assertTrue(bucket.tryAcquire(2000 * ms));
+        assertTrue(bucket.tryAcquire(2000 * ms));
+        assertFalse(bucket.tryAcquire(2000 * ms));
+        assertTrue(bucket.takeSummary(3000 * ms, "pattern").startsWith("Suppressed 1 similar message in the last 1"));
+    }
+
+    @Test
+    void idleBucketsShouldBeEvictedOnceTheKeyLimitIsReached() throws InterruptedException {
+        // Given - a bucket per concatenated message, each full again after a millisecond
+        RateLimiter.Policy[] policies = new RateLimiter.Policy[Level.values().length];
+        policies[Level.INFO.ordinal()] = new RateLimiter.Policy(1000, 1);
+        RateLimiter limiter = new RateLimiter(policies);
+        for (int i = 0; i < 4096; i++) {
+            assertTrue(limiter.bucket(Level.INFO, "order " + i).tryAcquire(System.nanoTime()));
+        }
+        Thread.sleep(5);
+
+        // When
+        RateLimiter.Bucket fresh = limiter.bucket(Level.INFO, "order 4096");
+
+        // Then
+        assertSame(fresh, limiter.bucket(Level.INFO, "order 4096"));
+        assertEquals(1, limiter.bucketCount(Level.INFO));
+    }
+
+    @Test
+    void busyBucketsShouldMakeNewKeysShareOneBucket() {
+        // Given
+        RateLimiter.Policy[] policies = new RateLimiter.Policy[Level.values().length];
+        policies[Level.INFO.ordinal()] = new RateLimiter.Policy(0.001, 1);
+        RateLimiter limiter = new RateLimiter(policies);
+        for (int i = 0; i < 4096; i++) {
+            limiter.bucket(Level.INFO, "order " + i).tryAcquire(System.nanoTime());
+        }
+
+        // When & Then
+        assertSame(limiter.bucket(Level.INFO, "order a"), limiter.bucket(Level.INFO, "order b"));
+        assertEquals(4097, limiter.bucketCount(Level.INFO));
+    }
+
+    @Test
+    void rateLimitsShouldLoadFromProperties() throws IOException {
+        // Given
+        factory.shutdown();
+        Properties props = new Properties();
+        props.setProperty("logger.rateLimit.app", "warn:0.001:2, INFO:0.001");
+        factory = factory(LoggerConfig.fromProperties(props));
+        Logger logger = factory.getLogger("app.db");
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            logger.warn("slow");
+            logger.info("fast");
+        }
+
+        // Then - the burst defaults to one second's worth, at least 1
+        assertEquals(List.of("[WARN] slow", "[INFO] fast", "[WARN] slow"), received);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.logger;
+
+import org.example.logger.sink.LogMessageSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class LoggerSupplierTest {
+
+    private final String timeFormat = "yyyy-MM-dd HH:mm:ss";
+    private final String messageFormat = "[{LEVEL}] {MESSAGE}";
+    @Mock
+    private LogMessageSink mockSink;
+    @Captor
+    private ArgumentCaptor<String> messageCaptor;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        when(mockSink.getSinkLevel()).thenReturn(Level.INFO);
+        logger = new Logger("SupplierLogger", timeFormat, messageFormat, mockSink);
+    }
+
+    @Test
+    void supplierShouldNotBeCalledForDisabledLevel() {
+        AtomicInteger calls = new AtomicInteger();
+        Throwable throwable = new RuntimeException() {
+            @Override
+            public StackTraceElement[] getStackTrace() {
+                throw new AssertionError("stack trace should not be rendered");
+            }
+        };
+
+        logger.debugLazy(() -> "Debug " + calls.incrementAndGet());
+        logger.debugLazy(() -> "Debug " + calls.incrementAndGet(), throwable);
+        logger.logLazy(Level.DEBUG, () -> "Debug " + calls.incrementAndGet(), throwable);
+
+        assertEquals(0, calls.get());
+        verify(mockSink, never()).consumeMessage(any(), anyString());
+    }
+
+    @Test
+    void supplierShouldBeCalledOnceForEnabledLevel() {
+        AtomicInteger calls = new AtomicInteger();
+
+        logger.infoLazy(() -> "Info " + calls.incrementAndGet());
+
+        assertEquals(1, calls.get());
+        verify(mockSink).consumeMessage(eq(Level.INFO), messageCaptor.capture());
+        assertEquals("[INFO] Info 1", messageCaptor.getValue());
+    }
+
+    @Test
+    void supplierWithThrowableShouldIncludeStackTrace() {
+        logger.errorLazy(() -> "Request failed", new IllegalArgumentException("Bad input"));
+
+        verify(mockSink).consumeMessage(eq(Level.ERROR), messageCaptor.capture());
+        assertTrue(messageCaptor.getValue().startsWith("[ERROR] Request failed\n"));
+        assertTrue(messageCaptor.getValue().contains("IllegalArgumentException: Bad input"));
+    }
+
+    @Test
+    void nullStringMessagesShouldStillCompileAndBeIgnored() {
+        // Supplier variants have their own names, so these resolve to the String overloads
+        logger.info(null);
+        logger.error(null, new IllegalStateException("ignored"));
+        logger.log(Level.WARN, null, new IllegalStateException("ignored"));
+
+        verify(mockSink, never()).consumeMessage(any(), anyString());
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.logger;
+
+import org.example.logger.format.MessageTemplate;
+import org.example.logger.format.TimestampFormatter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MDCKeyTest {
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void sameNameShouldGiveTheSameKey() {
+        MDCKey key = MDCKey.of("keyTest_tenant");
+
+        assertSame(key, MDCKey.of("keyTest_tenant"));
+        assertEquals("keyTest_tenant", key.name());
+        assertTrue(key.slot >= 0 && key.slot < MDCKey.MAX_SLOTS);
+    }
+
+    @Test
+    void registeredKeyShouldReadTheCurrentValue() {
+        // Given
+        MDCKey key = MDCKey.of("keyTest_requestId");
+
+        // When
+        MDC.put("other", "x");
+        MDC.put("keyTest_requestId", "req-1");
+        Map<String, String> snapshot = MDC.getCopyOfContextMap();
+        MDC.put("keyTest_requestId", "req-2");
+
+        // Then
+        assertEquals("req-2", key.get());
+        assertEquals("req-1", ((ContextMap) snapshot).get(key));
+        MDC.remove("keyTest_requestId");
+        assertNull(key.get());
+    }
+
+    @Test
+    void keyRegisteredAfterThePutShouldStillFindTheValue() {
+        // Given - the context version is built before the key has a slot
+        MDC.put("keyTest_late", "value");
+
+        // When
+        MDCKey key = MDCKey.of("keyTest_late");
+
+        // Then
+        assertEquals("value", key.get());
+        MDC.put("keyTest_unrelated", "y");
+        assertEquals("value", key.get());
+    }
+
+    @Test
+    void templateShouldRenderRegisteredKeysFromTheCapturedContext() {
+        // Given
+        MessageTemplate template = MessageTemplate.compile("[{MDC:keyTest_user}] [{MDC:keyTest_missing}] {MESSAGE}",
+                TimestampFormatter.ofPattern("HH:mm:ss"));
+        MDC.put("keyTest_user", "alice");
+        LogEvent event = new LogEvent(Level.INFO, 0, "app", "main", "hello", null, null,
+                MDC.getCopyOfContextMap());
+        MDC.put("keyTest_user", "bob");
+
+        // When
+        String line = template.format(event);
+
+        // Then
+        assertEquals("[alice] [] hello", line);
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MDCPropagationTest {
+
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        MDC.clear();
+        pool.shutdownNow();
+        pool.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void wrappedTaskShouldSeeTheSubmittersContext() throws Exception {
+        // Given
+        MDC.put("requestId", "req-1");
+        Runnable task = MDC.wrap(() -> assertEquals("req-1", MDC.get("requestId")));
+        MDC.put("requestId", "req-2");
+
+        // When & Then - captured when wrapped, not when run
+        pool.submit(task).get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void pooledThreadShouldNotKeepTheContextAfterwards() throws Exception {
+        // Given
+        ExecutorService wrapped = MDC.wrap(pool);
+        MDC.put("requestId", "req-1");
+
+        // When
+        wrapped.submit(() -> MDC.put("leaked", "yes")).get(1, TimeUnit.SECONDS);
+
+        // Then - the next plain task on the same thread sees an empty context
+        MDC.clear();
+        assertEquals(0, pool.submit(() -> MDC.getCopyOfContextMap().size()).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void wrappedTaskShouldRestoreTheRunningThreadsContext() throws Exception {
+        // Given
+        MDC.put("requestId", "caller");
+        Callable<String> task = MDC.wrap(() -> MDC.get("requestId"));
+        MDC.put("requestId", "runner");
+
+        // When - run inline, as a caller-runs executor would
+        String seen = task.call();
+
+        // Then
+        assertEquals("caller", seen);
+        assertEquals("runner", MDC.get("requestId"));
+    }
+
+    @Test
+    void executorServiceShouldPropagateToEveryTask() throws Exception {
+        // Given
+        ExecutorService wrapped = MDC.wrap(pool);
+        MDC.put("requestId", "req-7");
+        Callable<String> read = () -> MDC.get("requestId");
+
+        // When
+        Future<String> submitted = wrapped.submit(read);
+        List<Future<String>> all = wrapped.invokeAll(List.of(read, read));
+        String any = wrapped.invokeAny(List.of(read));
+
+        // Then
+        assertEquals("req-7", submitted.get());
+        assertEquals("req-7", all.get(0).get());
+        assertEquals("req-7", all.get(1).get());
+        assertEquals("req-7", any);
+    }
+
+    @Test
+    void completableFutureChainShouldCarryTheContext() throws Exception {
+        // Given
+        MDC.put("requestId", "req-9");
+
+        // When
+        String result = CompletableFuture.supplyAsync(() -> MDC.get("requestId"), MDC.wrap(pool))
+                .thenApplyAsync(id -> id + "/" + MDC.get("requestId"), MDC.wrap(pool))
+                .get(1, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals("req-9/req-9", result);
+    }
+
+    @Test
+    void scopedBindingsShouldApplyOnlyDuringTheCall() throws Exception {
+        // Given
+        MDC.put("requestId", "outer");
+        MDC.put("user", "alice");
+
+        // When
+        String inside = MDC.where("requestId", "inner").where("user", null)
+                .call(() -> MDC.get("requestId") + "/" + MDC.get("user"));
+
+        // Then
+        assertEquals("inner/null", inside);
+        assertEquals("outer", MDC.get("requestId"));
+        assertEquals("alice", MDC.get("user"));
+    }
+
+    @Test
+    void scopedRunShouldRestoreAfterAnException() {
+        // When
+        assertThrows(IllegalStateException.class, () -> MDC.where("step", "failing").run(() -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        // Then
+        assertNull(MDC.get("step"));
+    }
+}
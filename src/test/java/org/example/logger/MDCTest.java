@@ -10,6 +10,7 @@ import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class MDCTest {
@@ -147,4 +148,73 @@ class MDCTest {
 
         threadCompleted.await(1, TimeUnit.SECONDS);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void snapshotShouldNotSeeLaterChanges() {
+        // Given
+        MDC.put("key1", "value1");
+        MDC.put("key2", "value2");
+        Map<String, String> snapshot = MDC.getCopyOfContextMap();
+
+        // When
+        MDC.put("key1", "changed");
+        MDC.remove("key2");
+        MDC.put("key3", "value3");
+
+        // Then
+        assertEquals(Map.of("key1", "value1", "key2", "value2"), snapshot);
+        assertEquals(Map.of("key1", "changed", "key3", "value3"), MDC.getCopyOfContextMap());
+    }
+
+    @Test
+    void snapshotShouldBeTakenWithoutCopying() {
+        // Given
+        MDC.put("key1", "value1");
+
+        // When
+        Map<String, String> first = MDC.getCopyOfContextMap();
+        Map<String, String> second = MDC.getCopyOfContextMap();
+        MDC.put("key1", "value1");
+
+        // Then - same version until something actually changes
+        assertSame(first, second);
+        assertSame(first, MDC.getCopyOfContextMap());
+        assertThrows(UnsupportedOperationException.class, () -> first.entrySet().iterator().remove());
+    }
+
+    @Test
+    void snapshotShouldRestoreOnAnotherThread() throws Exception {
+        // Given
+        MDC.put("requestId", "req-1");
+        Map<String, String> snapshot = MDC.getCopyOfContextMap();
+        String[] seen = new String[1];
+
+        // When
+        Thread thread = new Thread(() -> {
+            MDC.setContextMap(snapshot);
+            MDC.put("step", "worker");
+            seen[0] = MDC.get("requestId");
+        });
+        thread.start();
+        thread.join();
+
+        // Then
+        assertEquals("req-1", seen[0]);
+        assertEquals(Map.of("requestId", "req-1"), snapshot);
+    }
+
+    @Test
+    void removingShouldKeepTheOtherEntriesInOrder() {
+        // Given
+        MDC.put("a", "1");
+        MDC.put("b", "2");
+        MDC.put("c", "3");
+
+        // When
+        MDC.remove("b");
+        MDC.remove("missing");
+
+        // Then
+        assertEquals("[a=1, c=3]", MDC.getCopyOfContextMap().entrySet().toString());
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.logger.async;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTest {
+
+    @Test
+    void capacityShouldBeRoundedUpToPowerOfTwo() {
+        assertEquals(2, RingBuffer.capacityFor(0));
+        assertEquals(2, RingBuffer.capacityFor(2));
+        assertEquals(128, RingBuffer.capacityFor(100));
+        assertEquals(1024, RingBuffer.capacityFor(1024));
+    }
+
+    @Test
+    void slotsShouldBePreallocatedAndReused() {
+        AtomicInteger created = new AtomicInteger();
+        RingBuffer<int[]> ring = new RingBuffer<>(4, () -> {
+            created.incrementAndGet();
+            return new int[1];
+        });
+        assertEquals(4, created.get());
+
+        long first = ring.tryClaim();
+        ring.publish(first);
+        ring.release(first);
+        for (int i = 0; i < 3; i++) {
+            ring.publish(ring.tryClaim());
+        }
+        long wrapped = ring.tryClaim();
+
+        assertSame(ring.get(first), ring.get(wrapped));
+        assertEquals(4, created.get());
+    }
+
+    @Test
+    void claimShouldFailWhenFullUntilConsumerReleases() {
+        RingBuffer<Object> ring = new RingBuffer<>(2, Object::new);
+
+        long first = ring.tryClaim();
+        long second = ring.tryClaim();
+        assertEquals(RingBuffer.FULL, ring.tryClaim());
+        assertEquals(2, ring.size());
+
+        ring.publish(first);
+        ring.release(first);
+        assertEquals(2, ring.tryClaim());
+        assertEquals(1, second);
+    }
+
+    @Test
+    void publishedShouldTrackLapOfSequence() {
+        RingBuffer<Object> ring = new RingBuffer<>(2, Object::new);
+
+        long sequence = ring.tryClaim();
+        assertFalse(ring.isPublished(sequence));
+        ring.publish(sequence);
+        assertTrue(ring.isPublished(sequence));
+        // Same slot, next lap
+        assertFalse(ring.isPublished(sequence + 2));
+    }
+
+    @Test
+    void concurrentProducersShouldDeliverEveryElementInPerProducerOrder() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 5_000;
+        RingBuffer<long[]> ring = new RingBuffer<>(64, () -> new long[2]);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long sequence;
+                    while ((sequence = ring.tryClaim()) == RingBuffer.FULL) {
+                        Thread.yield();
+                    }
+                    long[] slot = ring.get(sequence);
+                    slot[0] = producer;
+                    slot[1] = i;
+                    ring.publish(sequence);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        long next = 0;
+        long total = (long) producers * perProducer;
+        while (next < total) {
+            if (!ring.isPublished(next)) {
+                Thread.yield();
+                continue;
+            }
+            long[] slot = ring.get(next);
+            int producer = (int) slot[0];
+            assertEquals(lastSeen[producer] + 1, slot[1]);
+            lastSeen[producer] = slot[1];
+            ring.release(next++);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (long last : lastSeen) {
+            assertEquals(perProducer - 1, last);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.logger.format;
+
+import org.example.logger.Level;
+import org.example.logger.LogEvent;
+import org.example.logger.MDC;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageTemplateTest {
+
+    private final TimestampFormatter dateTimeFormat = TimestampFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void shouldRenderAllPlaceholders() {
+        MessageTemplate template = MessageTemplate.compile(
+                "{TIMESTAMP} [{LEVEL}] [{LOGGER}] [{MDC:requestId}] - {MESSAGE}", dateTimeFormat);
+
+        String line = template.format(event(Level.INFO, "hello", Map.of("requestId", "req-1")));
+
+        assertTrue(line.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2} \\[INFO] \\[Main] \\[req-1] - hello"), line);
+    }
+
+    @Test
+    void shouldNotSubstitutePlaceholdersInsideMessage() {
+        MessageTemplate template = MessageTemplate.compile("[{LEVEL}] {MESSAGE}", dateTimeFormat);
+
+        String line = template.format(event(Level.WARN, "value {MDC:x} at {LEVEL} $1 \\", Map.of("x", "secret")));
+
+        assertEquals("[WARN] value {MDC:x} at {LEVEL} $1 \\", line);
+    }
+
+    @Test
+    void shouldRenderMissingMdcValueAsEmpty() {
+        MessageTemplate template = MessageTemplate.compile("<{MDC:missing}> {MESSAGE}", dateTimeFormat);
+
+        assertEquals("<> msg", template.format(event(Level.DEBUG, "msg", null)));
+    }
+
+    @Test
+    void shouldKeepUnknownPlaceholdersAsLiteralText() {
+        MessageTemplate template = MessageTemplate.compile("{THREAD} {MDC:} {MDC:a-b} {LEVEL {MESSAGE}", dateTimeFormat);
+
+        assertEquals("{THREAD} {MDC:} {MDC:a-b} {LEVEL msg", template.format(event(Level.INFO, "msg", null)));
+    }
+
+    @Test
+    void shouldRenderParametersAndThrowableInMessage() {
+        MessageTemplate template = MessageTemplate.compile("{MESSAGE}", dateTimeFormat);
+        LogEvent event = new LogEvent(Level.ERROR, 0, "Main", "main", "failed {} times",
+                new Object[]{3}, new IllegalStateException("Broken"), null);
+
+        String line = template.format(event);
+
+        assertTrue(line.startsWith("failed 3 times\njava.lang.IllegalStateException: Broken"), line);
+    }
+
+    private static LogEvent event(Level level, String message, Map<String, String> contextMap) {
+        return new LogEvent(level, System.currentTimeMillis() * 1_000_000L, "Main", "main",
+                message, null, null, contextMap);
+    }
+}
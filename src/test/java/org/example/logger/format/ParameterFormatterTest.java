@@ -0,0 +1,51 @@
+package org.example.logger.format;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParameterFormatterTest {
+
+    @Test
+    void shouldSubstituteArgumentsInOrder() {
+        assertEquals("a=1", ParameterFormatter.format("a={}", 1));
+        assertEquals("1 and 2", ParameterFormatter.format("{} and {}", 1, 2));
+        assertEquals("x y z", ParameterFormatter.format("{} {} {}", "x", "y", "z"));
+    }
+
+    @Test
+    void shouldLeaveSurplusPlaceholdersAndIgnoreSurplusArguments() {
+        assertEquals("1 {}", ParameterFormatter.format("{} {}", 1));
+        assertEquals("only 1", ParameterFormatter.format("only {}", 1, 2));
+    }
+
+    @Test
+    void shouldHonourEscapedPlaceholders() {
+        assertEquals("literal {} then 1", ParameterFormatter.format("literal \\{} then {}", 1));
+        assertEquals("backslash \\1", ParameterFormatter.format("backslash \\\\{}", 1));
+        assertEquals(1, ParameterFormatter.countPlaceholders("literal \\{} then {}"));
+        assertEquals(1, ParameterFormatter.countPlaceholders("backslash \\\\{}"));
+    }
+
+    @Test
+    void shouldRenderNullsAndArrays() {
+        assertEquals("null", ParameterFormatter.format("{}", (Object) null));
+        assertEquals("[1, 2]", ParameterFormatter.format("{}", (Object) new int[]{1, 2}));
+        assertEquals("[a, [b]]", ParameterFormatter.format("{}", (Object) new Object[]{"a", new String[]{"b"}}));
+    }
+
+    @Test
+    void shouldSurviveFailingToString() {
+        Object broken = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        String result = ParameterFormatter.format("value {}", broken);
+
+        assertTrue(result.startsWith("value [FAILED toString() of "), result);
+    }
+}
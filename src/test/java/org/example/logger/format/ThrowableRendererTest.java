@@ -0,0 +1,117 @@
+package org.example.logger.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThrowableRendererTest {
+
+    private static final String NL = System.lineSeparator();
+
+    private static String render(ThrowableRenderer renderer, Throwable throwable, long nowMillis) {
+        StringBuilder sb = new StringBuilder();
+        renderer.renderTo(sb, throwable, nowMillis);
+        return sb.toString();
+    }
+
+    private static String printStackTrace(Throwable throwable) {
+        StringWriter sw = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+
+    // The same call site every time, so repeated failures share a trace
+    private static RuntimeException failure(String message) {
+        IllegalStateException cause = new IllegalStateException("pool exhausted");
+        RuntimeException wrapper = new RuntimeException(message, cause);
+        wrapper.addSuppressed(new IllegalArgumentException("cleanup failed"));
+        return wrapper;
+    }
+
+    @Test
+    void unlimitedRendererShouldMatchPrintStackTrace() {
+        RuntimeException failure = failure("boom");
+
+        assertEquals(printStackTrace(failure), render(ThrowableRenderer.FULL, failure, 0));
+        // A bounded renderer with limits it never reaches walks the trace itself, in the same layout
+        assertEquals(printStackTrace(failure), render(new ThrowableRenderer(10_000, 100, 0), failure, 0));
+    }
+
+    @Test
+    void framesShouldBeLimitedPerThrowable() {
+        RuntimeException failure = failure("boom");
+        int frames = failure.getStackTrace().length;
+
+        String rendered = render(new ThrowableRenderer(2, 0, 0), failure, 0);
+
+        assertTrue(rendered.startsWith("java.lang.RuntimeException: boom" + NL + "\tat "), rendered);
+        assertTrue(rendered.contains("\t... " + (frames - 2) + " frames omitted" + NL), rendered);
+        assertTrue(rendered.contains("Caused by: java.lang.IllegalStateException: pool exhausted"), rendered);
+        assertTrue(rendered.contains("\tSuppressed: java.lang.IllegalArgumentException: cleanup failed"), rendered);
+        assertTrue(rendered.split(NL).length < 15, rendered);
+    }
+
+    @Test
+    void causeChainShouldBeCutAndSummarizedByItsRoot() {
+        Throwable root = new java.net.ConnectException("refused");
+        Throwable chain = new RuntimeException("top", new IllegalStateException("middle",
+                new java.io.UncheckedIOException("io", new java.io.IOException("wrapped", root))));
+
+        String rendered = render(new ThrowableRenderer(1, 1, 0), chain, 0);
+
+        assertTrue(rendered.contains("Caused by: java.lang.IllegalStateException: middle"), rendered);
+        assertFalse(rendered.contains("Caused by: java.io.UncheckedIOException"), rendered);
+        assertTrue(rendered.contains("\t... 3 causes omitted, root cause: java.net.ConnectException: refused"),
+                rendered);
+    }
+
+    @Test
+    void repeatedTraceShouldBeReferencedWithinTheWindow() {
+        ThrowableRenderer renderer = new ThrowableRenderer(0, 0, 1000);
+        RuntimeException[] failures = new RuntimeException[3];
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] = failure("request " + i);
+        }
+
+        String first = render(renderer, failures[0], 10_000);
+        String repeat = render(renderer, failures[1], 10_500);
+        String nextWindow = render(renderer, failures[2], 11_000);
+
+        assertTrue(first.startsWith("java.lang.RuntimeException: request 0 [#1]" + NL + "\tat "), first);
+        assertEquals("java.lang.RuntimeException: request 1 [same trace as #1]" + NL, repeat);
+        assertTrue(nextWindow.startsWith("java.lang.RuntimeException: request 2 [#1]" + NL + "\tat "), nextWindow);
+    }
+
+    @Test
+    void differentTracesShouldGetTheirOwnIds() {
+        ThrowableRenderer renderer = new ThrowableRenderer(0, 0, 60_000);
+
+        String first = render(renderer, failure("a"), 0);
+        String other = render(renderer, new IllegalStateException("elsewhere"), 0);
+
+        assertTrue(first.contains("[#1]"), first);
+        assertTrue(other.startsWith("java.lang.IllegalStateException: elsewhere [#2]"), other);
+    }
+
+    @Test
+    void circularCauseShouldNotLoop() {
+        IllegalStateException a = new IllegalStateException("a");
+        IllegalArgumentException b = new IllegalArgumentException("b", a);
+        a.initCause(b);
+
+        String rendered = render(new ThrowableRenderer(1, 0, 0), a, 0);
+
+        assertTrue(rendered.contains("[CIRCULAR REFERENCE: java.lang.IllegalStateException: a]"), rendered);
+    }
+
+    @Test
+    void negativeLimitsShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ThrowableRenderer(-1, 0, 0));
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.logger.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimestampFormatterTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+    // 2024-03-31 00:59:58.000 UTC, two seconds before the DST switch in Berlin
+    private static final long BASE_MILLIS = 1711846798000L;
+
+    @Test
+    void shouldMatchDateTimeFormatterForCommonPatterns() {
+        String[] patterns = {
+                "yyyy-MM-dd HH:mm:ss",
+                "yyyy-MM-dd HH:mm:ss.SSS",
+                "yyyy-MM-dd'T'HH:mm:ss",
+                "yyyy-MM-dd'T'HH:mm:ss.SSS",
+                "HH:mm:ss",
+                "HH:mm:ss.SSS",
+                "dd MMM yyyy HH:mm:ss,SSS",
+                "HH:mm:ss.SSSSSS",
+                "'at' HH:mm 'S'",
+        };
+        long[] offsets = {0, 1, 999, 1000, 1500, 2001, 3_600_000, -86_400_000L * 366, 86_400_000L * 1000};
+
+        for (String pattern : patterns) {
+            TimestampFormatter formatter = TimestampFormatter.ofPattern(pattern, ZONE);
+            DateTimeFormatter expected = DateTimeFormatter.ofPattern(pattern).withZone(ZONE);
+            for (long offset : offsets) {
+                long millis = BASE_MILLIS + offset;
+                assertEquals(expected.format(Instant.ofEpochMilli(millis)), formatter.format(millis),
+                        pattern + " at " + millis);
+            }
+        }
+    }
+
+    @Test
+    void shouldSpliceMillisecondsIntoCachedSecond() {
+        TimestampFormatter formatter = TimestampFormatter.ofPattern("HH:mm:ss.SSS", ZoneId.of("UTC"));
+
+        assertEquals("00:00:01.000", formatter.format(1000));
+        assertEquals("00:00:01.007", formatter.format(1007));
+        assertEquals("00:00:01.999", formatter.format(1999));
+        assertEquals("00:00:02.010", formatter.format(2010));
+    }
+
+    @Test
+    void shouldAppendToBuilder() {
+        TimestampFormatter formatter = TimestampFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS", ZoneId.of("UTC"));
+        StringBuilder sb = new StringBuilder("at ");
+
+        formatter.formatTo(sb, 86_400_123L);
+
+        assertEquals("at 1970-01-02 00:00:00.123", sb.toString());
+    }
+}
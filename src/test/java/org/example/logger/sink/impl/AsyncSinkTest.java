@@ -0,0 +1,260 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.DurabilityMode;
+import org.example.logger.Level;
+import org.example.logger.Logger;
+import org.example.logger.LoggerConfig;
+import org.example.logger.async.AsyncOverflowPolicy;
+import org.example.logger.sink.LogMessageSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncSinkTest {
+
+    @Test
+    void slowDelegateShouldNotBlockCaller() {
+        GatedSink slow = new GatedSink(Level.INFO);
+        AsyncSink sink = new AsyncSink(slow, 16);
+        try {
+            sink.consumeMessage(Level.INFO, "first");
+            sink.consumeMessage(Level.INFO, "second");
+            sink.consumeMessage(Level.DEBUG, "below level");
+            assertTrue(sink.getQueueDepth() >= 1);
+
+            slow.gate.countDown();
+            sink.flush();
+
+            assertEquals(List.of("first", "second"), slow.messages);
+            assertEquals(1, slow.flushes);
+            assertEquals(0, sink.getQueueDepth());
+        } finally {
+            slow.gate.countDown();
+            sink.close();
+        }
+    }
+
+    @Test
+    void fullQueueShouldApplyOverflowPolicy() throws InterruptedException {
+        GatedSink slow = new GatedSink(Level.DEBUG);
+        AsyncSink sink = new AsyncSink(slow, 2, AsyncOverflowPolicy.DROP_NEW, Level.WARN, false);
+        try {
+            sink.consumeMessage(Level.INFO, "first");
+            assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+            sink.consumeMessage(Level.INFO, "queued");
+            sink.consumeMessage(Level.DEBUG, "lost");
+
+            assertEquals(1, sink.getDroppedCount(Level.DEBUG));
+            slow.gate.countDown();
+            sink.close();
+
+            assertEquals(List.of("first", "queued", "AsyncSink queue full: dropped 1 events (DEBUG=1)"),
+                    slow.messages);
+        } finally {
+            slow.gate.countDown();
+            sink.close();
+        }
+    }
+
+    @Test
+    void virtualThreadShouldBeUsedOnlyWhenAvailable() {
+        GatedSink delegate = new GatedSink(Level.INFO);
+        delegate.gate.countDown();
+        AsyncSink sink = new AsyncSink(delegate, 4, AsyncOverflowPolicy.BLOCK, Level.WARN, true);
+        try {
+            assertEquals(Runtime.version().feature() >= 21, sink.isVirtualThread());
+            sink.consumeMessage(Level.INFO, "hello");
+            sink.flush();
+
+            assertEquals(List.of("hello"), delegate.messages);
+        } finally {
+            sink.close();
+        }
+    }
+
+    @Test
+    void isolatedSinksShouldLetFastSinkProceed() throws IOException, InterruptedException {
+        GatedSink slow = new GatedSink(Level.INFO);
+        GatedSink fast = new GatedSink(Level.INFO);
+        fast.gate.countDown();
+        Logger logger = new LoggerConfig()
+                .withConsole(false, Level.INFO)
+                .withMessageFormat("{MESSAGE}")
+                .withSink(slow)
+                .withSink(fast)
+                .withSinkIsolation(16, AsyncOverflowPolicy.BLOCK, false)
+                .build();
+        try {
+            logger.info("one");
+            logger.info("two");
+            assertTrue(fast.awaitMessages(2));
+            assertTrue(slow.messages.size() <= 1);
+
+            slow.gate.countDown();
+            logger.flush();
+            assertEquals(List.of("one", "two"), slow.messages);
+        } finally {
+            slow.gate.countDown();
+            logger.shutdown();
+        }
+    }
+
+    @Test
+    void flushWaitingOnQueuedSinkShouldNotBlockOtherSinks() throws InterruptedException {
+        GatedSink slow = new GatedSink(Level.INFO);
+        GatedSink fast = new GatedSink(Level.INFO);
+        fast.gate.countDown();
+        Logger logger = new Logger("Queued", "HH:mm:ss", "{MESSAGE}", new AsyncSink(slow, 16), fast);
+        Thread flusher = new Thread(logger::flush);
+        try {
+            logger.info("one");
+            assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+            flusher.start();
+            Thread.sleep(50);
+
+            // The flusher waits for the slow sink's consumer without holding the logger's sink lock
+            long start = System.nanoTime();
+            logger.info("two");
+
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertEquals(List.of("one", "two"), fast.messages);
+            assertTrue(flusher.isAlive());
+        } finally {
+            slow.gate.countDown();
+            flusher.join(5000);
+            logger.shutdown();
+        }
+    }
+
+    @Test
+    void groupCommitShouldNotHoldTheWorkerOnQueuedSinks() throws Exception {
+        GatedSink slow = new GatedSink(Level.INFO);
+        GatedSink fast = new GatedSink(Level.INFO);
+        fast.gate.countDown();
+        Logger logger = new LoggerConfig()
+                .withConsole(false, Level.INFO)
+                .withMessageFormat("{MESSAGE}")
+                .withSink(new AsyncSink(slow, 16))
+                .withSink(fast)
+                .withAsyncMode(true)
+                .withDurability(DurabilityMode.GROUP_COMMIT, 1000)
+                .build();
+        try {
+            logger.info("one");
+            assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Void> durable = logger.logDurable(Level.INFO, "two");
+
+            // The worker moves on while the queued sink's consumer is stuck
+            long start = System.nanoTime();
+            logger.info("three");
+            assertTrue(fast.awaitMessages(3));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertFalse(durable.isDone());
+
+            slow.gate.countDown();
+            durable.get(5, TimeUnit.SECONDS);
+            assertEquals(List.of("one", "two"), slow.messages.subList(0, 2));
+        } finally {
+            slow.gate.countDown();
+            logger.shutdown();
+        }
+    }
+
+    @Test
+    void syncShouldFailWhenTheQueuedLinesAreNotWritten() throws InterruptedException {
+        GatedSink slow = new GatedSink(Level.INFO);
+        AsyncSink sink = new AsyncSink(slow, 16);
+        try {
+            sink.consumeMessage(Level.INFO, "stuck");
+            assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+
+            // Cut the wait short rather than sitting out the timeout
+            Thread.currentThread().interrupt();
+            assertThrows(InterruptedIOException.class, sink::sync);
+            assertTrue(Thread.interrupted());
+            assertEquals(List.of(), slow.messages);
+        } finally {
+            slow.gate.countDown();
+            sink.close();
+        }
+    }
+
+    @Test
+    void shutdownShouldCloseConfiguredQueuedSinks(@TempDir Path tempDir) throws IOException {
+        Set<Thread> before = asyncSinkThreads();
+        Path logFile = tempDir.resolve("isolated.log");
+        Logger logger = new LoggerConfig()
+                .withConsole(false, Level.INFO)
+                .withMessageFormat("{MESSAGE}")
+                .withFile(true, logFile.toString(), Level.INFO, false, false, FileSinkType.CHANNEL)
+                .withSinkIsolation(16, AsyncOverflowPolicy.BLOCK, false)
+                .build();
+
+        logger.info("last line");
+        logger.shutdown();
+
+        Set<Thread> after = asyncSinkThreads();
+        after.removeAll(before);
+        assertEquals(Set.of(), after);
+        assertEquals(List.of("last line"), Files.readAllLines(logFile, StandardCharsets.UTF_8));
+    }
+
+    private static Set<Thread> asyncSinkThreads() {
+        Set<Thread> threads = new HashSet<>(Thread.getAllStackTraces().keySet());
+        threads.removeIf(thread -> !thread.getName().startsWith("Logger-AsyncSink-"));
+        return threads;
+    }
+
+    // Blocks inside the first write until the gate opens
+    private static class GatedSink extends LogMessageSink {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+        volatile int flushes;
+
+        GatedSink(Level level) {
+            super(level);
+        }
+
+        @Override
+        public void consumeMessage(Level level, String oneMessage) {
+            entered.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(oneMessage);
+        }
+
+        boolean awaitMessages(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (messages.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            return messages.size() >= count;
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.LogEvent;
+import org.example.logger.Logger;
+import org.example.logger.LoggerConfig;
+import org.example.logger.MDC;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryLogSinkTest {
+
+    private static final String MESSAGE_FORMAT = "{TIMESTAMP} [{LEVEL}] [{LOGGER}] [{MDC:user}] - {MESSAGE}";
+    private static final String TIME_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    private Logger logger(Path file, FileSinkType type, boolean append) throws IOException {
+        return new LoggerConfig()
+                .withName("app")
+                .withConsole(false, Level.INFO)
+                .withDateFormat(TIME_FORMAT)
+                .withMessageFormat(MESSAGE_FORMAT)
+                .withFile(true, file.toString(), Level.INFO, append, true, type)
+                .build();
+    }
+
+    // Logs the same calls to a text and a binary file
+    private void logSample(Logger logger, Throwable failure) {
+        MDC.put("user", "alice");
+        logger.info("plain message");
+        logger.getLogger("app.db").warn("query {} took {} ms, cached={}, ratio={}", "SELECT 1", 42L, true, 0.25);
+        logger.info("array {} and null {}", new int[]{1, 2}, null);
+        MDC.remove("user");
+        logger.error("failed ünïcödé", failure);
+        logger.debug("filtered");
+        logger.shutdown();
+    }
+
+    @Test
+    void decodedLogShouldMatchTextLog() throws IOException {
+        // Arrange
+        Path text = tempDir.resolve("app.log");
+        Path binary = tempDir.resolve("app.wlb");
+        Throwable failure = new IllegalStateException("boom");
+        logSample(logger(text, FileSinkType.CHANNEL, false), failure);
+        logSample(logger(binary, FileSinkType.BINARY, false), failure);
+
+        // Act
+        String decoded = render(binary);
+
+        // Assert - timestamps differ between the two runs, so compare from the level on
+        List<String> expected = stripTimestamps(Files.readString(text, StandardCharsets.UTF_8));
+        assertEquals(expected, stripTimestamps(decoded));
+        assertTrue(expected.get(0).startsWith("[INFO] [app] [alice] - plain message"));
+    }
+
+    @Test
+    void repeatedEventsShouldBeMuchSmallerThanText() throws IOException {
+        // Arrange
+        Path text = tempDir.resolve("app.log");
+        Path binary = tempDir.resolve("app.wlb");
+        for (Path file : List.of(text, binary)) {
+            Logger logger = logger(file, file == text ? FileSinkType.STREAM : FileSinkType.BINARY, false);
+            for (int i = 0; i < 1000; i++) {
+                logger.getLogger("com.example.orders.OrderService").info("order {} shipped to {}", i, "warehouse-7");
+            }
+            logger.shutdown();
+        }
+
+        // Assert
+        long textSize = Files.size(text);
+        long binarySize = Files.size(binary);
+        assertTrue(binarySize * 3 < textSize);
+    }
+
+    @Test
+    void appendedSegmentsShouldEachStartFresh() throws IOException {
+        // Arrange
+        Path binary = tempDir.resolve("app.wlb");
+        Logger first = logger(binary, FileSinkType.BINARY, true);
+        first.info("first run {}", 1);
+        first.shutdown();
+        Logger second = logger(binary, FileSinkType.BINARY, true);
+        second.info("second run {}", 2);
+        second.shutdown();
+
+        // Act
+        List<String> lines = stripTimestamps(render(binary));
+
+        // Assert
+        assertEquals(List.of("[INFO] [app] [] - first run 1", "[INFO] [app] [] - second run 2"), lines);
+    }
+
+    @Test
+    void truncatedRecordShouldEndTheLog() throws IOException {
+        // Arrange - cut the file in the middle of its last record
+        Path binary = tempDir.resolve("app.wlb");
+        Logger logger = logger(binary, FileSinkType.BINARY, false);
+        logger.info("complete");
+        logger.info("cut short by a crash");
+        logger.shutdown();
+        byte[] bytes = Files.readAllBytes(binary);
+        Files.write(binary, Arrays.copyOf(bytes, bytes.length - 5));
+
+        // Act & Assert
+        try (InputStream in = Files.newInputStream(binary)) {
+            BinaryLogReader reader = new BinaryLogReader(in);
+            LogEvent event = reader.next();
+            assertEquals("complete", event.getFormattedMessage());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void decodedLogShouldKeepTheRenderedTraces() throws IOException {
+        // Arrange - each file prints the trace in full once, then refers to it
+        Path text = tempDir.resolve("app.log");
+        Path binary = tempDir.resolve("app.wlb");
+        Throwable failure = new IllegalStateException("boom");
+        for (Path file : List.of(text, binary)) {
+            Logger logger = new LoggerConfig()
+                    .withName("app")
+                    .withConsole(false, Level.INFO)
+                    .withDateFormat(TIME_FORMAT)
+                    .withMessageFormat(MESSAGE_FORMAT)
+                    .withFile(true, file.toString(), Level.INFO, false, true,
+                            file == text ? FileSinkType.CHANNEL : FileSinkType.BINARY)
+                    .withThrowableRendering(1, 0, 60_000)
+                    .build();
+            logger.error("first failure", failure);
+            logger.error("second failure", failure);
+            logger.shutdown();
+        }
+
+        // Act
+        String decoded = render(binary);
+
+        // Assert
+        List<String> expected = stripTimestamps(Files.readString(text, StandardCharsets.UTF_8));
+        assertEquals(expected, stripTimestamps(decoded));
+        assertTrue(expected.stream().anyMatch(line -> line.endsWith("frames omitted")));
+    }
+
+    @Test
+    void syncShouldFailWhenEventsCouldNotBeWritten() throws IOException {
+        // Arrange - every write to /dev/full fails with "No space left on device"
+        Path full = Path.of("/dev/full");
+        Assumptions.assumeTrue(Files.isWritable(full));
+        BinaryLogSink sink = new BinaryLogSink(Level.INFO, full.toString(), false, true);
+        sink.consumeEvent(new LogEvent(Level.INFO, System.nanoTime(), "app", "main", "lost event", new Object[0],
+                null, Collections.emptyMap()));
+
+        // Act & Assert
+        try {
+            IOException thrown = assertThrows(IOException.class, sink::sync);
+            assertEquals("Events were lost writing to log file: /dev/full", thrown.getMessage());
+        } finally {
+            sink.close();
+        }
+    }
+
+    private static String render(Path binary) throws IOException {
+        StringWriter out = new StringWriter();
+        BinaryLogReader.render(Files.newInputStream(binary), out, MESSAGE_FORMAT, TIME_FORMAT);
+        return out.toString();
+    }
+
+    // Drops the 23-character timestamp and the space after it from lines that have one
+    private static List<String> stripTimestamps(String log) {
+        return log.lines()
+                .map(line -> line.matches("^\\d{4}-\\d\\d-\\d\\d .*") ? line.substring(24) : line)
+                .collect(Collectors.toList());
+    }
+}
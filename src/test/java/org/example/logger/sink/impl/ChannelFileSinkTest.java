@@ -0,0 +1,174 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.Logger;
+import org.example.logger.LoggerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ChannelFileSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path logFile;
+    private ChannelFileSink sink;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logFile = tempDir.resolve("channel.log");
+        sink = new ChannelFileSink(Level.INFO, logFile.toString(), true, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sink != null) {
+            sink.close();
+        }
+    }
+
+    @Test
+    void sinkShouldWriteAndFilterMessages() throws IOException {
+        // Act
+        sink.consumeMessage(Level.INFO, "Info message");
+        sink.consumeMessage(Level.DEBUG, "Debug message");
+        sink.consumeMessage(Level.ERROR, "Error message");
+
+        // Assert - autoFlush writes each message through
+        assertEquals(List.of("Info message", "Error message"), readLines());
+    }
+
+    @Test
+    void sinkShouldEncodeNonAsciiAsUtf8() throws IOException {
+        // Act
+        sink.consumeMessage(Level.INFO, "café ünïcödé 😀 done");
+        sink.flush();
+
+        // Assert
+        assertEquals(List.of("café ünïcödé 😀 done"), readLines());
+    }
+
+    @Test
+    void smallBuffersShouldSplitLinesAcrossSegments() throws IOException {
+        // Arrange - 64-byte segments, so lines and multi-byte characters cross segment boundaries
+        sink.close();
+        sink = new ChannelFileSink(Level.INFO, logFile.toString(), false, false, 256);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expected.add("line " + i + " with some ascii padding and ümlauts and 😀 #" + i);
+        }
+
+        // Act
+        for (String line : expected) {
+            sink.consumeMessage(Level.INFO, line);
+        }
+        sink.flush();
+
+        // Assert
+        assertEquals(expected, readLines());
+    }
+
+    @Test
+    void batchShouldBeWrittenAtEndOfBatch() throws IOException {
+        // Act
+        sink.consumeBatch(new Level[]{Level.INFO, Level.DEBUG, Level.WARN},
+                new String[]{"first", "filtered", "second"}, 3);
+        sink.endOfBatch();
+
+        // Assert
+        assertEquals(List.of("first", "second"), readLines());
+    }
+
+    @Test
+    void sinkShouldOverwriteExistingFileWhenAppendIsFalse() throws IOException {
+        // Arrange
+        sink.consumeMessage(Level.INFO, "old content");
+        sink.close();
+
+        // Act
+        sink = new ChannelFileSink(Level.INFO, logFile.toString(), false, true);
+        sink.consumeMessage(Level.INFO, "new content");
+
+        // Assert
+        assertEquals(List.of("new content"), readLines());
+    }
+
+    @Test
+    void loggerConfigShouldSelectChannelSink() throws IOException {
+        // Arrange
+        Path configured = tempDir.resolve("configured.log");
+        Logger logger = new LoggerConfig()
+                .withConsole(false, Level.INFO)
+                .withMessageFormat("{MESSAGE}")
+                .withFile(true, configured.toString(), Level.INFO, true, true, FileSinkType.CHANNEL)
+                .build();
+
+        // Act
+        logger.info("through the channel");
+        logger.shutdown();
+
+        // Assert
+        assertEquals(List.of("through the channel"), Files.readAllLines(configured, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void batchesLargerThanTheBuffersShouldBeWrittenInOrder() throws IOException {
+        // Arrange - 64-byte segments, so each batch fills every segment more than once
+        sink.close();
+        sink = new ChannelFileSink(Level.INFO, logFile.toString(), false, true, 256);
+        Level[] levels = new Level[12];
+        String[] messages = new String[12];
+        List<String> expected = new ArrayList<>();
+
+        for (int b = 0; b < 3; b++) {
+            for (int i = 0; i < levels.length; i++) {
+                levels[i] = i % 4 == 3 && i < 11 ? Level.DEBUG : Level.INFO;
+                messages[i] = "batch " + b + " line " + i + " handled in 12 ms";
+                // The last slot is past count and must be ignored
+                if (levels[i] == Level.INFO && i < 11) {
+                    expected.add(messages[i]);
+                }
+            }
+
+            // Act
+            sink.consumeBatch(levels, messages, 11);
+            sink.endOfBatch();
+
+            // Assert - each batch is complete in the file once it ends
+            assertEquals(expected, readLines());
+        }
+    }
+
+    private List<String> readLines() throws IOException {
+        return Files.readAllLines(logFile, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void syncShouldFailWhenAnEarlierWriteFailed() throws IOException {
+        // Arrange - every write to /dev/full fails with "No space left on device"
+        Path full = Path.of("/dev/full");
+        Assumptions.assumeTrue(Files.isWritable(full));
+        sink.close();
+        sink = new ChannelFileSink(Level.INFO, full.toString(), false, true);
+        sink.consumeMessage(Level.INFO, "lost line");
+
+        // Act
+        IOException thrown = assertThrows(IOException.class, sink::sync);
+
+        // Assert - the write failure is reported, not just the force
+        assertEquals("Lines were lost writing to log file: /dev/full", thrown.getMessage());
+    }
+}
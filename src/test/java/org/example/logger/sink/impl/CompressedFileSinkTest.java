@@ -0,0 +1,180 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.LogEvent;
+import org.example.logger.Logger;
+import org.example.logger.LoggerConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressedFileSinkTest {
+
+    private static final String MESSAGE_FORMAT = "[{LEVEL}] [{LOGGER}] - {MESSAGE}";
+    private static final String TIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
+    private static final long START_MILLIS = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private static LogEvent event(int i) {
+        // One line per second
+        return new LogEvent(Level.INFO, (START_MILLIS + i * 1000L) * 1_000_000L, "orders", "main",
+                "order {} shipped to warehouse-7", new Object[]{i}, null, Collections.emptyMap());
+    }
+
+    private static String line(int i) {
+        return "[INFO] [orders] - order " + i + " shipped to warehouse-7";
+    }
+
+    private CompressedFileSink writeEvents(Path file, boolean append, int from, int to) throws IOException {
+        CompressedFileSink sink = new CompressedFileSink(Level.INFO, file.toString(), MESSAGE_FORMAT, TIME_FORMAT,
+                append, 6, 4096);
+        for (int i = from; i < to; i++) {
+            sink.consumeEvent(event(i));
+        }
+        return sink;
+    }
+
+    private static List<String> lines(int from, int to) {
+        List<String> lines = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            lines.add(line(i));
+        }
+        return lines;
+    }
+
+    @Test
+    void closedFileShouldReadBackEveryLine() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("app.wlz");
+        CompressedFileSink sink = writeEvents(file, false, 0, 500);
+        sink.close();
+
+        // Act
+        try (CompressedLogReader reader = new CompressedLogReader(file)) {
+            // Assert
+            assertEquals(lines(0, 500), reader.readAllLines());
+            assertEquals(sink.getBlockCount(), reader.getBlockCount());
+            assertTrue(reader.getBlockCount() > 5);
+        }
+        assertTrue(Files.size(file) * 5 < 500L * line(0).length());
+    }
+
+    @Test
+    void timeRangeShouldOnlyDecompressOverlappingBlocks() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("app.wlz");
+        writeEvents(file, false, 0, 500).close();
+
+        // Act
+        try (CompressedLogReader reader = new CompressedLogReader(file)) {
+            List<String> lines = reader.readLines(START_MILLIS + 250_000, START_MILLIS + 260_000);
+
+            // Assert - whole blocks come back, so the range is covered and a little more
+            assertTrue(lines.containsAll(lines(250, 261)));
+            assertTrue(lines.size() < 200);
+            assertTrue(reader.getBlocksRead() <= 2);
+            assertTrue(reader.getBlockCount() > 5);
+        }
+    }
+
+    @Test
+    void fileWithoutIndexShouldBeReadByScanningBlocks() throws IOException {
+        // Arrange - flushed but never closed, then a crash in the middle of the next block
+        Path file = tempDir.resolve("app.wlz");
+        CompressedFileSink sink = writeEvents(file, false, 0, 100);
+        sink.flush();
+        byte[] complete = Files.readAllBytes(file);
+        sink.close();
+        byte[] torn = Arrays.copyOf(complete, complete.length + 10);
+        torn[complete.length] = 'B';
+        Files.write(file, torn);
+
+        // Act & Assert
+        try (CompressedLogReader reader = new CompressedLogReader(file)) {
+            assertEquals(lines(0, 100), reader.readAllLines());
+        }
+    }
+
+    @Test
+    void appendingShouldReplaceTheIndexAndKeepEarlierBlocks() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("app.wlz");
+        writeEvents(file, true, 0, 100).close();
+        writeEvents(file, true, 100, 200).close();
+
+        // Act & Assert
+        try (CompressedLogReader reader = new CompressedLogReader(file)) {
+            assertEquals(lines(0, 200), reader.readAllLines());
+            assertTrue(reader.readLines(START_MILLIS + 150_000, START_MILLIS + 150_000).contains(line(150)));
+        }
+    }
+
+    @Test
+    void propertiesShouldSelectCompressedSink() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("app.wlz");
+        Properties props = new Properties();
+        props.setProperty("logger.console.enabled", "false");
+        props.setProperty("logger.file.enabled", "true");
+        props.setProperty("logger.file.path", file.toString());
+        props.setProperty("logger.file.type", "compressed");
+        props.setProperty("logger.file.compression.level", "9");
+        props.setProperty("logger.file.compression.blockSize", "4KB");
+        props.setProperty("logger.messageFormat", MESSAGE_FORMAT);
+
+        // Act
+        Logger logger = LoggerConfig.fromProperties(props).withName("orders").build();
+        for (int i = 0; i < 200; i++) {
+            logger.info("order {} shipped to warehouse-7", i);
+        }
+        logger.shutdown();
+
+        // Assert - shutdown flushes without closing, so the blocks are found by scanning
+        try (CompressedLogReader reader = new CompressedLogReader(file)) {
+            assertEquals(lines(0, 200), reader.readAllLines());
+            assertTrue(reader.getBlockCount() > 1);
+        }
+    }
+
+    @Test
+    void throwableRenderingShouldApplyLikeTheTextSinks() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("app.wlz");
+        Path text = tempDir.resolve("app.log");
+        Logger logger = new LoggerConfig()
+                .withName("orders")
+                .withConsole(false, Level.INFO)
+                .withMessageFormat(MESSAGE_FORMAT)
+                .withSink(new FileSink(Level.INFO, text.toString(), false, false))
+                .withFile(true, file.toString(), Level.INFO, false, false, FileSinkType.COMPRESSED)
+                .withThrowableRendering(1, 0, 60_000)
+                .build();
+        Throwable failure = new IllegalStateException("boom");
+
+        // Act
+        logger.error("first failure", failure);
+        logger.error("second failure", failure);
+        logger.shutdown();
+
+        // Assert - the same bounded trace in both files, each printing it in full once
+        List<String> expected = Files.readAllLines(text);
+        try (CompressedLogReader reader = new CompressedLogReader(file)) {
+            assertEquals(expected, reader.readAllLines());
+        }
+        assertTrue(expected.stream().anyMatch(line -> line.endsWith("frames omitted")));
+        assertTrue(expected.contains("java.lang.IllegalStateException: boom [same trace as #1]"));
+    }
+}
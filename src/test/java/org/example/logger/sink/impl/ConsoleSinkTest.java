@@ -0,0 +1,135 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConsoleSinkTest {
+
+    private static final String NL = System.lineSeparator();
+
+    // Records each write call as one chunk
+    private static final class RecordingStream extends OutputStream {
+        final List<String> writes = new ArrayList<>();
+        final List<String> log;
+        final String name;
+
+        RecordingStream(String name, List<String> log) {
+            this.name = name;
+            this.log = log;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            String chunk = new String(b, off, len, StandardCharsets.UTF_8);
+            writes.add(chunk);
+            log.add(name + ":" + chunk);
+        }
+
+        String text() {
+            return String.join("", writes);
+        }
+    }
+
+    @Test
+    void batchShouldBeWrittenInOneCall() {
+        // Arrange
+        List<String> log = new ArrayList<>();
+        RecordingStream out = new RecordingStream("out", log);
+        ConsoleSink sink = new ConsoleSink(Level.INFO, null, "", true, out, new ByteArrayOutputStream(), 4096);
+
+        // Act
+        sink.consumeBatch(new Level[]{Level.INFO, Level.DEBUG, Level.ERROR},
+                new String[]{"first", "filtered", "second"}, 3);
+        sink.endOfBatch();
+
+        // Assert
+        assertEquals(List.of("first" + NL + "second" + NL), out.writes);
+    }
+
+    @Test
+    void warningsShouldGoToStderrInOrder() {
+        // Arrange
+        List<String> log = new ArrayList<>();
+        RecordingStream out = new RecordingStream("out", log);
+        RecordingStream err = new RecordingStream("err", log);
+        ConsoleSink sink = new ConsoleSink(Level.DEBUG, Level.WARN, "", true, out, err, 4096);
+
+        // Act
+        sink.consumeBatch(new Level[]{Level.INFO, Level.DEBUG, Level.WARN, Level.ERROR, Level.INFO},
+                new String[]{"a", "b", "c", "d", "e"}, 5);
+        sink.endOfBatch();
+
+        // Assert
+        assertEquals(List.of("out:a" + NL + "b" + NL, "err:c" + NL + "d" + NL, "out:e" + NL), log);
+    }
+
+    @Test
+    void prefixShouldBeWrittenBeforeEveryLine() {
+        // Arrange
+        RecordingStream out = new RecordingStream("out", new ArrayList<>());
+        ConsoleSink sink = new ConsoleSink(Level.INFO, null, "äpp | ", true, out, new ByteArrayOutputStream(), 4096);
+
+        // Act
+        sink.consumeMessage(Level.INFO, "one");
+        sink.consumeMessage(Level.INFO, "twö");
+
+        // Assert - one write per line when called outside a batch
+        assertEquals(List.of("äpp | one" + NL, "äpp | twö" + NL), out.writes);
+    }
+
+    @Test
+    void linesLargerThanTheBufferShouldBeWrittenWhole() {
+        // Arrange
+        RecordingStream out = new RecordingStream("out", new ArrayList<>());
+        ConsoleSink sink = new ConsoleSink(Level.INFO, null, "> ", false, out, new ByteArrayOutputStream(), 1024);
+        String longLine = "x".repeat(3000) + "é".repeat(1000);
+
+        // Act
+        sink.consumeMessage(Level.INFO, longLine);
+        sink.consumeMessage(Level.INFO, "short");
+        int writesBeforeFlush = out.writes.size();
+        sink.flush();
+
+        // Assert
+        assertTrue(writesBeforeFlush > 0, "a full buffer should be written without waiting for flush");
+        assertEquals("> " + longLine + NL + "> short" + NL, out.text());
+    }
+
+    @Test
+    void nullPrefixShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConsoleSink(Level.INFO, null, null, true));
+    }
+
+    @Test
+    void writeFailureShouldNotPropagate() {
+        // Arrange
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("closed");
+            }
+        };
+        ConsoleSink sink = new ConsoleSink(Level.INFO, null, "", true, broken, new ByteArrayOutputStream(), 1024);
+
+        // Act & Assert - reported on stderr, and the sink keeps working
+        sink.consumeMessage(Level.INFO, "lost");
+        sink.flush();
+    }
+}
@@ -81,6 +81,20 @@ public class FileSinkTest {
         assertTrue(lines.contains(errorMessage), "ERROR message should be included");
     }
 
+    @Test
+    void syncShouldWriteBufferedLines() throws IOException {
+        // Arrange
+        sink.close();
+        sink = new FileSink(Level.INFO, logFile.toString(), false, false);
+        sink.consumeMessage(Level.INFO, "durable line");
+
+        // Act
+        sink.sync();
+
+        // Assert
+        assertEquals(List.of("durable line"), Files.readAllLines(logFile));
+    }
+
     @Test
     void sinkShouldAppendToExistingFile() throws IOException {
         // Arrange
@@ -180,6 +194,20 @@ public class FileSinkTest {
         }
     }
 
+    @Test
+    void batchShouldBeWrittenAndFlushedAtEndOfBatch() throws IOException {
+        // Arrange
+        Level[] levels = {Level.INFO, Level.DEBUG, Level.ERROR};
+        String[] messages = {"first", "filtered", "second"};
+
+        // Act
+        sink.consumeBatch(levels, messages, 3);
+        sink.endOfBatch();
+
+        // Assert - autoFlush sink, so no explicit flush is needed
+        assertEquals(List.of("first", "second"), Files.readAllLines(logFile));
+    }
+
     /**
      * Extract message IDs from log lines using a regex pattern
      */
@@ -0,0 +1,166 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.Logger;
+import org.example.logger.LoggerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedFileSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path logFile;
+    private MappedFileSink sink;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logFile = tempDir.resolve("mapped.log");
+        sink = new MappedFileSink(Level.INFO, logFile.toString(), true, 4096);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sink != null) {
+            sink.close();
+        }
+    }
+
+    @Test
+    void closeShouldTruncateToWrittenLines() throws IOException {
+        // Act
+        sink.consumeMessage(Level.INFO, "Info message");
+        sink.consumeMessage(Level.DEBUG, "Debug message");
+        sink.consumeMessage(Level.ERROR, "Error message");
+        assertEquals(4096, Files.size(logFile));
+        sink.close();
+
+        // Assert
+        assertEquals(List.of("Info message", "Error message"), readLines());
+    }
+
+    @Test
+    void linesShouldContinueAcrossRegions() throws IOException {
+        // Arrange - 64-byte regions, so lines and multi-byte characters cross region boundaries
+        sink.close();
+        sink = new MappedFileSink(Level.INFO, logFile.toString(), false, 64);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expected.add("line " + i + " with some ascii padding and ümlauts and 😀 #" + i);
+        }
+
+        // Act
+        for (String line : expected) {
+            sink.consumeMessage(Level.INFO, line);
+        }
+        sink.close();
+
+        // Assert
+        assertEquals(expected, readLines());
+    }
+
+    @Test
+    void flushAndSyncShouldKeepTheMappedRegion() throws IOException {
+        // Act
+        sink.consumeMessage(Level.INFO, "before flush");
+        sink.flush();
+        sink.sync();
+        long sizeAfterFlush = Files.size(logFile);
+        sink.consumeMessage(Level.INFO, "after flush");
+        sink.sync();
+        long sizeAfterSync = Files.size(logFile);
+        sink.close();
+
+        // Assert - no truncation and no new region until close
+        assertEquals(4096, sizeAfterFlush);
+        assertEquals(4096, sizeAfterSync);
+        assertEquals(List.of("before flush", "after flush"), readLines());
+    }
+
+    @Test
+    void liveFileShouldHoldTheLinesBeforeTheZeroTail() throws IOException {
+        // Act
+        sink.consumeMessage(Level.INFO, "visible while open");
+        String live = new String(Files.readAllBytes(logFile), StandardCharsets.UTF_8);
+
+        // Assert
+        assertEquals("visible while open" + System.lineSeparator(), live.substring(0, live.indexOf('\0')));
+    }
+
+    @Test
+    void reopeningAfterCrashShouldAppendAtEndOfData() throws IOException {
+        // Arrange - a crash leaves the mapped region's zero tail in the file
+        sink.close();
+        Files.write(logFile, ("before crash" + System.lineSeparator() + "\0\0\0\0").getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        sink = new MappedFileSink(Level.INFO, logFile.toString(), true, 4096);
+        sink.consumeMessage(Level.INFO, "after restart");
+        sink.close();
+
+        // Assert
+        assertEquals(List.of("before crash", "after restart"), readLines());
+    }
+
+    @Test
+    void findEndOfDataShouldScanPastFullChunksOfZeros() throws IOException {
+        // Arrange - more zeros than one scan chunk
+        sink.close();
+        byte[] content = new byte[200_000];
+        content[0] = 'x';
+        content[1] = '\n';
+        Files.write(logFile, content);
+
+        // Act
+        sink = new MappedFileSink(Level.INFO, logFile.toString(), true, 4096);
+        sink.consumeMessage(Level.INFO, "y");
+        sink.close();
+
+        // Assert
+        assertEquals(List.of("x", "y"), readLines());
+    }
+
+    @Test
+    void propertiesShouldSelectMappedSink() throws IOException {
+        // Arrange
+        Path configured = tempDir.resolve("configured.log");
+        Properties props = new Properties();
+        props.setProperty("logger.console.enabled", "false");
+        props.setProperty("logger.messageFormat", "{MESSAGE}");
+        props.setProperty("logger.file.enabled", "true");
+        props.setProperty("logger.file.path", configured.toString());
+        props.setProperty("logger.file.type", "mapped");
+        props.setProperty("logger.file.regionSize", "128");
+        Logger logger = LoggerConfig.fromProperties(props).build();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            logger.info("mapped line {}", i);
+        }
+        logger.shutdown();
+
+        // Assert - shutdown closes the sink, which trims the unused tail
+        List<String> lines = Files.readAllLines(configured, StandardCharsets.UTF_8);
+        assertEquals(20, lines.size());
+        assertEquals("mapped line 19", lines.get(19));
+        assertTrue(Files.size(configured) < 20 * 128);
+    }
+
+    private List<String> readLines() throws IOException {
+        return Files.readAllLines(logFile, StandardCharsets.UTF_8);
+    }
+}
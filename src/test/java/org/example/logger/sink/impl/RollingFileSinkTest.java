@@ -0,0 +1,191 @@
+package org.example.logger.sink.impl;
+
+import org.example.logger.Level;
+import org.example.logger.Logger;
+import org.example.logger.LoggerConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RollingFileSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void sizeLimitShouldRollWithoutLosingLines() throws IOException {
+        // Arrange
+        Path logFile = tempDir.resolve("app.log");
+        RollingFileSink sink = new RollingFileSink(Level.INFO, logFile.toString(), true, 100, null, 0, false);
+        List<String> expected = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            String line = "line number " + i + " of the rolling test";
+            expected.add(line);
+            sink.consumeMessage(Level.INFO, line);
+        }
+        sink.close();
+
+        // Assert
+        List<Path> rolled = rolledFiles();
+        assertTrue(rolled.size() >= 5);
+        List<String> all = new ArrayList<>();
+        for (Path file : rolled) {
+            List<String> lines = Files.readAllLines(file);
+            assertTrue(Files.size(file) < 100 + 40);
+            all.addAll(lines);
+        }
+        all.addAll(Files.readAllLines(logFile));
+        all.sort(null);
+        expected.sort(null);
+        assertEquals(expected, all);
+    }
+
+    @Test
+    void rolledFilesShouldBeCompressedAndLimited() throws IOException {
+        // Arrange
+        Path logFile = tempDir.resolve("app.log");
+        RollingFileSink sink = new RollingFileSink(Level.INFO, logFile.toString(), false, 50, null, 2, true);
+
+        // Act - batches as the async worker delivers them
+        for (int b = 0; b < 10; b++) {
+            Level[] levels = {Level.INFO, Level.INFO, Level.DEBUG};
+            String[] messages = {"batch " + b + " first line", "batch " + b + " second line", "filtered"};
+            sink.consumeBatch(levels, messages, 3);
+            sink.endOfBatch();
+        }
+        sink.close();
+
+        // Assert - close waits for the background compression
+        List<Path> rolled = rolledFiles();
+        assertEquals(2, rolled.size());
+        for (Path file : rolled) {
+            assertTrue(file.getFileName().toString().endsWith(".gz"));
+            String content = gunzip(file);
+            assertTrue(content.startsWith("batch "));
+            assertFalse(content.contains("filtered"));
+        }
+    }
+
+    @Test
+    void retentionShouldKeepTheNewestRollsByName() throws IOException {
+        // Arrange - modification times in the opposite order, as compressing old files leaves them
+        String[] names = {"app.log.20240101-120000.gz", "app.log.20240101-120000.2", "app.log.20240101-120000.10",
+                "app.log.20240102-080000.gz"};
+        for (int i = 0; i < names.length; i++) {
+            Path file = tempDir.resolve(names[i]);
+            Files.write(file, List.of(names[i]));
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofMinutes(i))));
+        }
+
+        // Act - startup cleans up what an earlier run left
+        RollingFileSink sink = new RollingFileSink(Level.INFO, tempDir.resolve("app.log").toString(), true, 1000,
+                null, 2, false);
+        sink.close();
+
+        // Assert
+        assertEquals(List.of(tempDir.resolve("app.log.20240101-120000.10"), tempDir.resolve("app.log.20240102-080000.gz")),
+                rolledFiles());
+    }
+
+    @Test
+    void rollingShouldRejectOtherFileTypesAndOverwriting() {
+        Path logFile = tempDir.resolve("app.log");
+        LoggerConfig mapped = new LoggerConfig().withConsole(false, Level.INFO)
+                .withFile(true, logFile.toString(), Level.INFO, true, true, FileSinkType.MAPPED)
+                .withFileRolling(1024, null, 0, false);
+        LoggerConfig overwrite = new LoggerConfig().withConsole(false, Level.INFO)
+                .withFile(true, logFile.toString(), Level.INFO, false, true)
+                .withFileRolling(1024, null, 0, false);
+
+        assertThrows(IllegalArgumentException.class, mapped::build);
+        assertThrows(IllegalArgumentException.class, overwrite::build);
+    }
+
+    @Test
+    void fileFromEarlierPeriodShouldRollOnStartup() throws IOException {
+        // Arrange
+        Path logFile = tempDir.resolve("app.log");
+        Files.write(logFile, List.of("yesterday"));
+        Files.setLastModifiedTime(logFile, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+
+        // Act
+        RollingFileSink sink = new RollingFileSink(Level.INFO, logFile.toString(), true, 0, Duration.ofDays(1),
+                0, false);
+        sink.consumeMessage(Level.INFO, "today");
+        sink.close();
+
+        // Assert
+        List<Path> rolled = rolledFiles();
+        assertEquals(1, rolled.size());
+        assertEquals(List.of("yesterday"), Files.readAllLines(rolled.get(0)));
+        assertEquals(List.of("today"), Files.readAllLines(logFile));
+    }
+
+    @Test
+    void propertiesShouldEnableRolling() throws IOException {
+        // Arrange
+        Path logFile = tempDir.resolve("configured.log");
+        Properties props = new Properties();
+        props.setProperty("logger.console.enabled", "false");
+        props.setProperty("logger.messageFormat", "{MESSAGE}");
+        props.setProperty("logger.file.enabled", "true");
+        props.setProperty("logger.file.path", logFile.toString());
+        props.setProperty("logger.file.rolling.maxSize", "1KB");
+        props.setProperty("logger.file.rolling.compress", "false");
+        Logger logger = LoggerConfig.fromProperties(props).build();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            logger.info("configured line {}", i);
+        }
+        logger.shutdown();
+
+        // Assert
+        List<Path> rolled = rolledFiles();
+        assertTrue(rolled.size() >= 1);
+        long total = Files.readAllLines(logFile).size();
+        for (Path file : rolled) {
+            assertTrue(Files.size(file) <= 1024 + 40);
+            total += Files.readAllLines(file).size();
+        }
+        assertEquals(100, total);
+    }
+
+    private List<Path> rolledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> !file.getFileName().toString().endsWith(".log"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static String gunzip(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+}